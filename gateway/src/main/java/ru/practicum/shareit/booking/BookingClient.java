@@ -1,16 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,40 +18,66 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public BookingClient(ServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                                    String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        if (cursor == null) {
+            return get("?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
     }
 
 
-    public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> bookItems(long userId, List<BookItemRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approveBooking(long ownerId, long bookingId, boolean isApproved) {
+    public Mono<ResponseEntity<Object>> approveBooking(long ownerId, long bookingId, boolean isApproved) {
         Map<String, Object> params = Map.of("approved", isApproved);
         return patch("/" + bookingId + "?approved={approved}", ownerId, params, null);
     }
 
-    public ResponseEntity<Object> getOwnersBookings(long ownerId, BookingState state) {
-        Map<String, Object> params = Map.of("state", state);
-        return get("/owner?state={state}", ownerId, params);
+    public Mono<ResponseEntity<Object>> approveBookings(long ownerId, List<Long> bookingIds, boolean isApproved) {
+        Map<String, Object> params = Map.of("approved", isApproved);
+        return patch("/batch?approved={approved}", ownerId, params, bookingIds);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnersBookings(long ownerId, BookingState state, Integer from, Integer size,
+                                                         String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        if (cursor == null) {
+            return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("/owner?state={state}&from={from}&size={size}&cursor={cursor}", ownerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> exportBookings(long userId, BookingState state) {
+        return get("/export?state={state}", userId, Map.of("state", state.name()));
+    }
+
+    public Mono<ResponseEntity<Object>> exportOwnersBookings(long ownerId, BookingState state) {
+        return get("/owner/export?state={state}", ownerId, Map.of("state", state.name()));
     }
 }
@@ -1,16 +1,22 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -18,47 +24,97 @@ import ru.practicum.shareit.booking.dto.BookingState;
 @Slf4j
 @Validated
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookingClient bookingClient;
+    private final BookingEventsClient bookingEventsClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                    @Positive @Max(1000) @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                    @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size,
+                cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestBody @Valid BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> bookItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                  List<@Valid BookItemRequestDto> requestDtos) {
+        log.info("Creating batch of {} bookings, userId={}", requestDtos.size(), userId);
+        return bookingClient.bookItems(userId, requestDtos);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                 @PathVariable long bookingId,
-                                                 @RequestParam("approved") boolean isApproved) {
+    public Mono<ResponseEntity<Object>> approveBooking(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                       @PathVariable long bookingId,
+                                                       @RequestParam("approved") boolean isApproved) {
         log.info("Approving booking id {}", bookingId);
         return bookingClient.approveBooking(ownerId, bookingId, isApproved);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveBookings(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                        @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                        List<@NotNull @Positive Long> bookingIds,
+                                                        @RequestParam("approved") boolean isApproved) {
+        log.info("Setting approved={} for bookings {}", isApproved, bookingIds);
+        return bookingClient.approveBookings(ownerId, bookingIds, isApproved);
+    }
+
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                     @RequestParam(value = "state",
-                                                             required = false,
-                                                             defaultValue = "ALL") BookingState state) {
-        log.info("Getting booking by item's owner id={} with state {}", ownerId, state);
-        return bookingClient.getOwnersBookings(ownerId, state);
+    public Mono<ResponseEntity<Object>> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                           @RequestParam(value = "state",
+                                                                   required = false,
+                                                                   defaultValue = "ALL") BookingState state,
+                                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                           @Positive @Max(1000) @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                           @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Getting booking by item's owner id={} with state {}, from={}, size={}, cursor={}", ownerId, state,
+                from, size, cursor);
+        return bookingClient.getOwnersBookings(ownerId, state, from, size, cursor);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Object>> exportBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Exporting bookings with state {}, userId={}", stateParam, userId);
+        return bookingClient.exportBookings(userId, state);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<Object>> exportBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                              @RequestParam(value = "state",
+                                                                      required = false,
+                                                                      defaultValue = "ALL") BookingState state) {
+        log.info("Exporting bookings by item's owner id={} with state {}", ownerId, state);
+        return bookingClient.exportOwnersBookings(ownerId, state);
+    }
+
+    @GetMapping("/events")
+    public Mono<ResponseEntity<Object>> subscribe(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Subscribe to booking events, userId={}", userId);
+        return bookingEventsClient.subscribe(userId);
     }
 }
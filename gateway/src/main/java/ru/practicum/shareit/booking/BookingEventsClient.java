@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking;
+
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
+
+@Service
+public class BookingEventsClient extends BaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public BookingEventsClient(@Qualifier("eventStreamTransportFactory") ServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
+    }
+
+    public Mono<ResponseEntity<Object>> subscribe(long userId) {
+        return get("/events", userId)
+                .onErrorMap(BookingEventsClient::isSubscriptionLimitReached,
+                        e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                                "Too many booking event subscriptions", e));
+    }
+
+    private static boolean isSubscriptionLimitReached(Throwable e) {
+        return e instanceof ResourceAccessException && e.getCause() instanceof ConnectionRequestTimeoutException;
+    }
+}
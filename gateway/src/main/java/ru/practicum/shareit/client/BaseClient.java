@@ -1,94 +1,144 @@
 package ru.practicum.shareit.client;
 
-import org.springframework.http.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    protected final ServerTransport transport;
+    @Nullable
+    private final ResponseCache responseCache;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(ServerTransport transport) {
+        this(transport, null);
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    public BaseClient(ServerTransport transport, @Nullable ResponseCache responseCache) {
+        this.transport = transport;
+        this.responseCache = responseCache;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected Mono<ResponseEntity<Object>> getCached(String path, @Nullable Long userId, @Nullable String ifNoneMatch) {
+        Objects.requireNonNull(responseCache, "Response cache is not configured");
+        String key = cacheKeyPrefix(path) + userId;
+        ResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null && responseCache.isFresh(cached)) {
+            return Mono.just(fromCache(cached, ifNoneMatch));
+        }
+
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+        return transport.exchangeForBytes(path, headers)
+                .map(shareitServerResponse -> cacheServerResponse(key, cached, shareitServerResponse, ifNoneMatch));
+    }
+
+    protected void evictCached(String path) {
+        if (responseCache != null) {
+            responseCache.evictByPrefix(cacheKeyPrefix(path));
+        }
+    }
+
+    /**
+     * Evicts responses cached for {@code path} with any query string, e.g. every page of a paginated list.
+     */
+    protected void evictCachedQueries(String path) {
+        if (responseCache != null) {
+            responseCache.evictByPrefix(transport.expand(path) + "?");
+        }
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return transport.exchange(method, path, defaultHeaders(userId), parameters, body);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+    private ResponseEntity<Object> cacheServerResponse(String key, @Nullable ResponseCache.CachedResponse cached,
+                                                       ResponseEntity<byte[]> shareitServerResponse,
+                                                       @Nullable String ifNoneMatch) {
+        if (cached != null && shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return fromCache(responseCache.refresh(key, cached), ifNoneMatch);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        String etag = shareitServerResponse.getHeaders().getETag();
+        MediaType contentType = shareitServerResponse.getHeaders().getContentType();
+        HttpHeaders customHeaders = customHeaders(shareitServerResponse.getHeaders());
+        if (!shareitServerResponse.getStatusCode().is2xxSuccessful() || etag == null
+                || shareitServerResponse.getBody() == null) {
+            return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                    .headers(customHeaders)
+                    .contentType(contentType != null ? contentType : MediaType.APPLICATION_JSON)
+                    .body(shareitServerResponse.getBody());
+        }
+        return fromCache(responseCache.put(key, shareitServerResponse.getBody(), etag, contentType, customHeaders),
+                ifNoneMatch);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -101,17 +151,52 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private String cacheKeyPrefix(String path) {
+        return transport.expand(path) + "|";
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> fromCache(ResponseCache.CachedResponse cached, @Nullable String ifNoneMatch) {
+        if (etagMatches(ifNoneMatch, cached.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .headers(cached.headers())
+                    .eTag(cached.etag())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .headers(cached.headers())
+                .eTag(cached.etag())
+                .contentType(cached.contentType() != null ? cached.contentType() : MediaType.APPLICATION_JSON)
+                .body(cached.body());
+    }
+
+    /**
+     * Application headers such as {@code X-Next-Cursor} are part of the cached representation and are replayed
+     * with it; standard headers are rebuilt by the gateway.
+     */
+    private static HttpHeaders customHeaders(HttpHeaders headers) {
+        HttpHeaders custom = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (name.regionMatches(true, 0, "X-", 0, 2)) {
+                custom.addAll(name, values);
+            }
+        });
+        return custom;
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    private static boolean etagMatches(@Nullable String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
         }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || withoutWeakPrefix(tag).equals(withoutWeakPrefix(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return responseBuilder.build();
+    private static String withoutWeakPrefix(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
     }
 }
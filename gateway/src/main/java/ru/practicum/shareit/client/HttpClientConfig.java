@@ -0,0 +1,159 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class HttpClientConfig {
+
+    @Bean
+    @Primary
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager(
+            @Value("${shareit-gateway.http-client.max-total}") int maxTotal,
+            @Value("${shareit-gateway.http-client.max-per-route}") int maxPerRoute,
+            @Value("${shareit-gateway.http-client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-gateway.http-client.time-to-live}") Duration timeToLive) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public CloseableHttpClient shareitServerHttpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit-gateway.http-client.connection-request-timeout}") Duration connectionRequestTimeout,
+            @Value("${shareit-gateway.http-client.response-timeout}") Duration responseTimeout,
+            @Value("${shareit-gateway.http-client.keep-alive}") Duration keepAlive,
+            @Value("${shareit-gateway.http-client.idle-eviction}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareitServerRequestFactory(
+            CloseableHttpClient httpClient,
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit-gateway.http-client.connection-request-timeout}") Duration connectionRequestTimeout) {
+        return new LeaseLimitingClientHttpRequestFactory(new HttpComponentsClientHttpRequestFactory(httpClient),
+                connectionManager.getMaxTotal(), connectionRequestTimeout);
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder shareitServerPoolMetrics(
+            PoolingHttpClientConnectionManager connectionManager, MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManagerMetricsBinder binder =
+                new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+        binder.bindTo(meterRegistry);
+        return binder;
+    }
+
+    @Bean
+    @Primary
+    public ServerTransportFactory restTemplateTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                               RestTemplateBuilder builder,
+                                                               ClientHttpRequestFactory requestFactory) {
+        return apiPrefix -> new RestTemplateTransport(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                        .requestFactory(() -> requestFactory)
+                        .build()
+        );
+    }
+
+    /**
+     * Event streams stay open for as long as the subscriber listens, so they get a pool of their own that is not
+     * counted against the lease limit of {@link #shareitServerRequestFactory}.
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager eventStreamConnectionManager(
+            @Value("${shareit-gateway.event-stream.max-connections}") int maxConnections,
+            @Value("${shareit-gateway.http-client.connect-timeout}") Duration connectTimeout) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient eventStreamHttpClient(
+            @Qualifier("eventStreamConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit-gateway.http-client.connection-request-timeout}") Duration connectionRequestTimeout,
+            @Value("${shareit-gateway.event-stream.response-timeout}") Duration responseTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder eventStreamPoolMetrics(
+            @Qualifier("eventStreamConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManagerMetricsBinder binder =
+                new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server-events");
+        binder.bindTo(meterRegistry);
+        return binder;
+    }
+
+    /**
+     * Every subscription holds a servlet worker while its stream is copied, so a subscriber past
+     * {@code shareit-gateway.event-stream.max-connections} is turned away at once instead of queueing for a
+     * connection. Keep that limit below {@code server.tomcat.threads.max} unless virtual threads are enabled.
+     */
+    @Bean
+    public ServerTransportFactory eventStreamTransportFactory(
+            @Value("${shareit-server.url}") String serverUrl,
+            RestTemplateBuilder builder,
+            @Qualifier("eventStreamHttpClient") CloseableHttpClient httpClient,
+            @Qualifier("eventStreamConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        ClientHttpRequestFactory requestFactory = new LeaseLimitingClientHttpRequestFactory(
+                new HttpComponentsClientHttpRequestFactory(httpClient), connectionManager.getMaxTotal(), Duration.ZERO);
+        return apiPrefix -> new RestTemplateTransport(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                        .requestFactory(() -> requestFactory)
+                        .build()
+        );
+    }
+}
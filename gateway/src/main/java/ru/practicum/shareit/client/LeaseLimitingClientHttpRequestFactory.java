@@ -0,0 +1,132 @@
+package ru.practicum.shareit.client;
+
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps in-flight exchanges at the connection pool size, so callers park on a {@link Semaphore} instead of
+ * waiting inside the pool's lease future, which blocks in a monitor and pins virtual threads.
+ * A permit is held until the response is closed, because that is when the connection returns to the pool.
+ */
+public class LeaseLimitingClientHttpRequestFactory extends AbstractClientHttpRequestFactoryWrapper {
+
+    private final Semaphore permits;
+    private final Duration leaseTimeout;
+
+    public LeaseLimitingClientHttpRequestFactory(ClientHttpRequestFactory requestFactory, int maxLeases,
+                                                 Duration leaseTimeout) {
+        super(requestFactory);
+        this.permits = new Semaphore(maxLeases, true);
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    @Override
+    protected ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod, ClientHttpRequestFactory requestFactory)
+            throws IOException {
+        return new LeaseLimitingRequest(requestFactory.createRequest(uri, httpMethod));
+    }
+
+    private class LeaseLimitingRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest delegate;
+
+        LeaseLimitingRequest(ClientHttpRequest delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                if (!permits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new ConnectionRequestTimeoutException("Timeout waiting for connection to " + getURI());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for connection to " + getURI());
+            }
+            try {
+                return new LeaseReleasingResponse(delegate.execute());
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+
+    private class LeaseReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        LeaseReleasingResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
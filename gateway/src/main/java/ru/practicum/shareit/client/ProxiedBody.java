@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server response body that is copied to the gateway client as is. It holds a pooled connection (and a lease
+ * permit) until closed, so it is closed after {@link #transferTo} and, for bodies that are never written,
+ * by {@link ProxiedBodyCleanupFilter} when the gateway request completes.
+ */
+public final class ProxiedBody implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ClientHttpResponse response;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean transferred;
+
+    ProxiedBody(ClientHttpResponse response) {
+        this.response = response;
+    }
+
+    public long transferTo(OutputStream out) throws IOException {
+        try {
+            long count = copy(response.getBody(), out);
+            transferred = true;
+            return count;
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Returns the connection to the pool once the body was fully transferred. Otherwise the connection is
+     * aborted: closing the response drains what is left of the body, which for an event stream never ends.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (!transferred) {
+            abort();
+        }
+        response.close();
+    }
+
+    private long copy(InputStream in, OutputStream out) throws IOException {
+        if (!ServerTransport.isEventStream(response.getHeaders().getContentType())) {
+            return in.transferTo(out);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long count = 0;
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+            out.flush();
+            count += read;
+        }
+        return count;
+    }
+
+    private void abort() {
+        try {
+            if (response.getBody() instanceof EofSensorInputStream body) {
+                body.abortConnection();
+            }
+        } catch (IOException e) {
+            // the response is closed right after, which releases the connection either way
+        }
+    }
+}
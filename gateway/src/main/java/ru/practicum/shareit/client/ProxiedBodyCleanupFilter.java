@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closes the {@link ProxiedBody proxied bodies} of a gateway request once it completes, including async
+ * requests that time out or whose client goes away before the body is written, and responses whose body is
+ * never written at all, e.g. to {@code HEAD} or after an exception handler replaced it.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ProxiedBodyCleanupFilter extends OncePerRequestFilter {
+
+    private static final String BODIES_ATTRIBUTE = ProxiedBodyCleanupFilter.class.getName() + ".BODIES";
+
+    static ProxiedBody register(ProxiedBody body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            @SuppressWarnings("unchecked")
+            List<ProxiedBody> bodies = (List<ProxiedBody>) attributes.getAttribute(BODIES_ATTRIBUTE,
+                    RequestAttributes.SCOPE_REQUEST);
+            if (bodies == null) {
+                bodies = new ArrayList<>(1);
+                attributes.setAttribute(BODIES_ATTRIBUTE, bodies, RequestAttributes.SCOPE_REQUEST);
+            }
+            bodies.add(body);
+        }
+        return body;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CleanupListener(request));
+            } else {
+                closeBodies(request);
+            }
+        }
+    }
+
+    private static void closeBodies(ServletRequest request) {
+        @SuppressWarnings("unchecked")
+        List<ProxiedBody> bodies = (List<ProxiedBody>) request.getAttribute(BODIES_ATTRIBUTE);
+        if (bodies != null) {
+            request.removeAttribute(BODIES_ATTRIBUTE);
+            bodies.forEach(ProxiedBody::close);
+        }
+    }
+
+    private record CleanupListener(ServletRequest request) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            closeBodies(request);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            closeBodies(request);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            closeBodies(request);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
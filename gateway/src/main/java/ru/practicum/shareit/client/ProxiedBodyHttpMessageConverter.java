@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+public class ProxiedBodyHttpMessageConverter extends AbstractHttpMessageConverter<ProxiedBody> {
+
+    public ProxiedBodyHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProxiedBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ProxiedBody readInternal(Class<? extends ProxiedBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Proxied bodies are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ProxiedBody body, HttpOutputMessage outputMessage) throws IOException {
+        body.transferTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class ResponseCache {
+
+    private final Cache<String, CachedResponse> cache;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public ResponseCache(@Value("${shareit-gateway.cache.ttl}") Duration ttl,
+                         @Value("${shareit-gateway.cache.retention}") Duration retention,
+                         @Value("${shareit-gateway.cache.max-size}") long maxSize) {
+        this(ttl, retention, maxSize, Clock.systemUTC());
+    }
+
+    ResponseCache(Duration ttl, Duration retention, long maxSize, Clock clock) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(retention)
+                .build();
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    CachedResponse put(String key, byte[] body, String etag, MediaType contentType, HttpHeaders headers) {
+        CachedResponse response = new CachedResponse(body, etag, contentType, HttpHeaders.readOnlyHttpHeaders(headers),
+                clock.instant().plus(ttl));
+        cache.put(key, response);
+        return response;
+    }
+
+    CachedResponse refresh(String key, CachedResponse response) {
+        return put(key, response.body(), response.etag(), response.contentType(), response.headers());
+    }
+
+    boolean isFresh(CachedResponse response) {
+        return clock.instant().isBefore(response.freshUntil());
+    }
+
+    void evictByPrefix(String prefix) {
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    record CachedResponse(byte[] body, String etag, MediaType contentType, HttpHeaders headers, Instant freshUntil) {
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+
+public class RestTemplateTransport implements ServerTransport {
+
+    private final RestTemplate rest;
+
+    public RestTemplateTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> makeAndSendRequest(method, path, headers, parameters, body));
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchangeForBytes(String path, HttpHeaders headers) {
+        return Mono.fromCallable(() -> {
+            try {
+                return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+            } catch (HttpStatusCodeException e) {
+                return ResponseEntity.status(e.getStatusCode())
+                        .headers(e.getResponseHeaders())
+                        .body(e.getResponseBodyAsByteArray());
+            }
+        });
+    }
+
+    @Override
+    public String expand(String path) {
+        return rest.getUriTemplateHandler().expand(path).toString();
+    }
+
+    private ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, HttpHeaders headers,
+                                                      @Nullable Map<String, Object> parameters,
+                                                      @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            return prepareGatewayResponse(request.execute());
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) throws IOException {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(ServerTransport.endToEndHeaders(response.getHeaders()));
+
+        HttpStatusCode status = response.getStatusCode();
+        if (status.isSameCodeAs(HttpStatus.NO_CONTENT) || status.isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                || response.getHeaders().getContentLength() == 0) {
+            response.close();
+            return responseBuilder.build();
+        }
+        return responseBuilder.body(ProxiedBodyCleanupFilter.register(new ProxiedBody(response)));
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Forwards gateway requests to one API prefix of the shareit server. The servlet runtime uses a blocking
+ * {@link RestTemplateTransport}, the reactive runtime a non-blocking {@link WebClientTransport}.
+ * On the servlet runtime the exchange runs on the request thread when Spring MVC subscribes, but the returned
+ * {@link Mono} is still handled as an async result, which costs a second dispatch per request.
+ */
+public interface ServerTransport {
+
+    Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    Mono<ResponseEntity<byte[]>> exchangeForBytes(String path, HttpHeaders headers);
+
+    String expand(String path);
+
+    static HttpHeaders endToEndHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    /**
+     * Whether the server sends a body of this type as a stream of events, which the gateway has to flush to
+     * the client as soon as each part arrives rather than when its buffers fill up.
+     */
+    static boolean isEventStream(@Nullable MediaType contentType) {
+        return contentType != null && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+                || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType));
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+/**
+ * Server response body relayed buffer by buffer; the client connection only reads as fast as the
+ * gateway's caller accepts writes.
+ */
+public record StreamedBody(Flux<DataBuffer> content) {
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.lang.Nullable;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public class StreamedBodyHttpMessageWriter implements HttpMessageWriter<StreamedBody> {
+
+    @Override
+    public List<MediaType> getWritableMediaTypes() {
+        return List.of(MediaType.ALL);
+    }
+
+    @Override
+    public boolean canWrite(ResolvableType elementType, @Nullable MediaType mediaType) {
+        return StreamedBody.class.isAssignableFrom(elementType.toClass());
+    }
+
+    @Override
+    public Mono<Void> write(Publisher<? extends StreamedBody> inputStream, ResolvableType elementType,
+                            @Nullable MediaType mediaType, ReactiveHttpOutputMessage message,
+                            Map<String, Object> hints) {
+        if (ServerTransport.isEventStream(message.getHeaders().getContentType())) {
+            return Mono.from(inputStream).flatMap(body -> message.writeAndFlushWith(body.content().map(Mono::just)));
+        }
+        return Mono.from(inputStream).flatMap(body -> message.writeWith(body.content()));
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Reactive gateway runtime, enabled with {@code spring.main.web-application-type=reactive}. Requests are served
+ * by Reactor Netty and forwarded through a {@link WebClient}, so no thread waits on the shareit server.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WebClientConfig implements WebFluxConfigurer {
+
+    @Bean
+    public NettyReactiveWebServerFactory shareitGatewayServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @Primary
+    public ConnectionProvider shareitServerConnectionProvider(
+            @Value("${shareit-gateway.http-client.max-total}") int maxTotal,
+            @Value("${shareit-gateway.http-client.max-pending}") int maxPending,
+            @Value("${shareit-gateway.http-client.connection-request-timeout}") Duration connectionRequestTimeout,
+            @Value("${shareit-gateway.http-client.keep-alive}") Duration keepAlive,
+            @Value("${shareit-gateway.http-client.time-to-live}") Duration timeToLive,
+            @Value("${shareit-gateway.http-client.idle-eviction}") Duration idleEviction) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxTotal)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(keepAlive)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(idleEviction)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public ServerTransportFactory webClientTransportFactory(
+            @Value("${shareit-server.url}") String serverUrl,
+            WebClient.Builder builder,
+            ConnectionProvider connectionProvider,
+            @Value("${shareit-gateway.http-client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-gateway.http-client.response-timeout}") Duration responseTimeout) {
+        return transportFactory(serverUrl, builder, connectionProvider, connectTimeout, responseTimeout);
+    }
+
+    /**
+     * Event streams stay open for as long as the subscriber listens, so they get a pool of their own instead of
+     * holding connections of {@link #shareitServerConnectionProvider}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider eventStreamConnectionProvider(
+            @Value("${shareit-gateway.event-stream.max-connections}") int maxConnections,
+            @Value("${shareit-gateway.http-client.connection-request-timeout}") Duration connectionRequestTimeout) {
+        return ConnectionProvider.builder("shareit-server-events")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ServerTransportFactory eventStreamTransportFactory(
+            @Value("${shareit-server.url}") String serverUrl,
+            WebClient.Builder builder,
+            @Qualifier("eventStreamConnectionProvider") ConnectionProvider connectionProvider,
+            @Value("${shareit-gateway.http-client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-gateway.event-stream.response-timeout}") Duration responseTimeout) {
+        return transportFactory(serverUrl, builder, connectionProvider, connectTimeout, responseTimeout);
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new StreamedBodyHttpMessageWriter());
+    }
+
+    private static ServerTransportFactory transportFactory(String serverUrl, WebClient.Builder builder,
+                                                           ConnectionProvider connectionProvider,
+                                                           Duration connectTimeout, Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout);
+        WebClient.Builder shareitServer = builder.clone().clientConnector(new ReactorClientHttpConnector(httpClient));
+        return apiPrefix -> new WebClientTransport(shareitServer.clone(),
+                new DefaultUriBuilderFactory(serverUrl + apiPrefix));
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class WebClientTransport implements ServerTransport {
+
+    private final WebClient webClient;
+    private final UriBuilderFactory uriBuilderFactory;
+
+    public WebClientTransport(WebClient.Builder builder, UriBuilderFactory uriBuilderFactory) {
+        this.webClient = builder.uriBuilderFactory(uriBuilderFactory).build();
+        this.uriBuilderFactory = uriBuilderFactory;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = parameters != null
+                ? webClient.method(method).uri(path, parameters)
+                : webClient.method(method).uri(path);
+        request.headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(WebClientTransport::prepareGatewayResponse);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchangeForBytes(String path, HttpHeaders headers) {
+        return webClient.get()
+                .uri(path)
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntity(byte[].class);
+    }
+
+    @Override
+    public String expand(String path) {
+        return uriBuilderFactory.expand(path).toString();
+    }
+
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(ServerTransport.endToEndHeaders(response.getHeaders()));
+
+        HttpStatusCode status = response.getStatusCode();
+        Flux<DataBuffer> content = response.getBody() != null ? response.getBody() : Flux.empty();
+        if (status.isSameCodeAs(HttpStatus.NO_CONTENT) || status.isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                || response.getHeaders().getContentLength() == 0) {
+            ResponseEntity<Object> withoutBody = responseBuilder.build();
+            return content.then(Mono.just(withoutBody));
+        }
+        ResponseEntity<Object> streamed = responseBuilder.body(new StreamedBody(content));
+        return Mono.just(streamed);
+    }
+}
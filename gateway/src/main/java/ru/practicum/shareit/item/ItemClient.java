@@ -3,13 +3,12 @@ package ru.practicum.shareit.item;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -22,40 +21,45 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transports, ResponseCache responseCache) {
+        super(transports.create(API_PREFIX), responseCache);
     }
 
-    public ResponseEntity<Object> createItem(ItemDto itemDto, long userId) {
+    public Mono<ResponseEntity<Object>> createItem(ItemDto itemDto, long userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(@Positive long itemId, @Positive long userId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<Object>> updateItem(@Positive long itemId, @Positive long userId, ItemDto itemDto) {
+        return patch("/" + itemId, userId, itemDto)
+                .doOnSuccess(response -> evictCached("/" + itemId));
     }
 
-    public ResponseEntity<Object> getItem(long itemId, long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(long itemId, long userId, String ifNoneMatch) {
+        return getCached("/" + itemId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getItems(@Positive long userId) {
+    public Mono<ResponseEntity<Object>> getItems(@Positive long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemsByText(long userId, String text) {
+    public Mono<ResponseEntity<Object>> exportItems(@Positive long userId) {
+        return get("/export", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemsByText(long userId, String text, Integer from, Integer size) {
         if (text == null || text.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
-        Map<String, Object> params = Map.of("text", text);
-        return get("/search?text={text}", userId, params);
+        Map<String, Object> params = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", userId, params);
     }
 
-    public ResponseEntity<Object> postComment(@Positive long userId, @Valid CommentDto dto, @Positive long itemId) {
-        return post("/" + itemId + "/comment", userId, dto);
+    public Mono<ResponseEntity<Object>> postComment(@Positive long userId, @Valid CommentDto dto, @Positive long itemId) {
+        return post("/" + itemId + "/comment", userId, dto)
+                .doOnSuccess(response -> evictCached("/" + itemId));
     }
 }
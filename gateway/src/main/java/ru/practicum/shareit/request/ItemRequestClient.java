@@ -3,43 +3,55 @@ package ru.practicum.shareit.request;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.Map;
+import java.util.regex.Pattern;
+
 @Service
 public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
+    private static final Pattern CURSOR = Pattern.compile("[A-Za-z0-9_-]+");
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemRequestClient(ServerTransportFactory transports, ResponseCache responseCache) {
+        super(transports.create(API_PREFIX), responseCache);
     }
 
-    public ResponseEntity<Object> postRequest(@Positive long userId, @Valid ItemRequestDto dto) {
-        return post("", userId, dto);
+    public Mono<ResponseEntity<Object>> postRequest(@Positive long userId, @Valid ItemRequestDto dto) {
+        return post("", userId, dto)
+                .doOnSuccess(response -> evictCachedQueries("/all"));
     }
 
-    public ResponseEntity<Object> getUsersRequests(long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getUsersRequests(long userId, String since) {
+        if (since == null) {
+            return get("", userId);
+        }
+        return get("?since={since}", userId, Map.of("since", since));
     }
 
-    public ResponseEntity<Object> getRequestById(@Positive long userId, @Positive long requestId) {
+    public Mono<ResponseEntity<Object>> getRequestById(@Positive long userId, @Positive long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getRequestsByUserId(long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getAllRequests(long userId, Integer from, Integer size, String cursor,
+                                                       String ifNoneMatch) {
+        String path = "/all?from=" + from + "&size=" + size;
+        if (cursor != null) {
+            if (!CURSOR.matcher(cursor).matches()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            path += "&cursor=" + cursor;
+        }
+        return getCached(path, userId, ifNoneMatch);
     }
 }
@@ -1,11 +1,16 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @Slf4j
@@ -17,30 +22,38 @@ public class ItemRequestController {
     private final ItemRequestClient client;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(@RequestBody @Valid ItemRequestDto dto,
-                                                @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> createRequest(@RequestBody @Valid ItemRequestDto dto,
+                                                      @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         log.info("Creating item request {}", dto);
         return client.postRequest(userId, dto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
-        log.info("Getting user's requests, user id={}", userId);
-        return client.getUsersRequests(userId);
+    public Mono<ResponseEntity<Object>> getUserRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                        @Pattern(regexp = "[A-Za-z0-9_-]+")
+                                                        @RequestParam(name = "since", required = false) String since) {
+        log.info("Getting user's requests, user id={}, since={}", userId, since);
+        return client.getUsersRequests(userId, since);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(@PathVariable @Positive long requestId,
-                                                 @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> getRequestById(@PathVariable @Positive long requestId,
+                                                       @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
 
         log.info("Getting request id={}", requestId);
         return client.getRequestById(userId, requestId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getRequestsByUserId(@RequestHeader("X-Sharer-User-Id") long userId) {
-
-        log.info("Getting all requests for user id={}", userId);
-        return client.getRequestsByUserId(userId);
+    public Mono<ResponseEntity<Object>> getRequestsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                            @Positive @Max(1000) @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                            @Pattern(regexp = "[A-Za-z0-9_-]+")
+                                                            @RequestParam(name = "cursor", required = false) String cursor,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                                    required = false) String ifNoneMatch) {
+
+        log.info("Getting requests for user id={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+        return client.getAllRequests(userId, from, size, cursor, ifNoneMatch);
     }
 }
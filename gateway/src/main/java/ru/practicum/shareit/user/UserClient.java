@@ -1,13 +1,12 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
@@ -16,28 +15,25 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public UserClient(ServerTransportFactory transports, ResponseCache responseCache) {
+        super(transports.create(API_PREFIX), responseCache);
     }
 
-    public ResponseEntity<Object> getUserById(long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> getUserById(long userId, String ifNoneMatch) {
+        return getCached("/" + userId, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> saveUser(UserDto user) {
+    public Mono<ResponseEntity<Object>> saveUser(UserDto user) {
         return post("", user);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto user, long id) {
-        return patch("/" + id, user);
+    public Mono<ResponseEntity<Object>> updateUser(UserDto user, long id) {
+        return patch("/" + id, user)
+                .doOnSuccess(response -> evictCached("/" + id));
     }
 
-    public ResponseEntity<Object> deleteUserById(long id) {
-        return delete("/" + id);
+    public Mono<ResponseEntity<Object>> deleteUserById(long id) {
+        return delete("/" + id)
+                .doOnSuccess(response -> evictCached("/" + id));
     }
 }
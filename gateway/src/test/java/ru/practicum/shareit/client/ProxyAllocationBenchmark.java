@@ -0,0 +1,127 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.ThreadMXBean;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares allocation per proxied request for the old parse-and-reserialize path and the streaming path.
+ * Not picked up by the default surefire includes, run it explicitly:
+ * {@code mvn test -pl gateway -Dtest=ProxyAllocationBenchmark}.
+ */
+@Slf4j
+class ProxyAllocationBenchmark {
+
+    private static final int BOOKINGS = 2_000;
+    private static final int WARMUP = 200;
+    private static final int ROUNDS = 500;
+    private static final String PATH = "/bookings/owner";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private HttpServer server;
+    private RestTemplate rest;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(bookings());
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(PATH, exchange -> {
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(payload);
+            }
+        });
+        server.start();
+        rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()));
+        log.info("Serving {} bookings, {} KB per response", BOOKINGS, payload.length / 1024);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void compareParsingAndStreamingProxy() {
+        BaseClient client = new BaseClient(new RestTemplateTransport(rest)) {
+        };
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+
+        long parsed = measure(() -> {
+            ResponseEntity<Object> response = rest.exchange(PATH, HttpMethod.GET, new HttpEntity<>(headers),
+                    Object.class);
+            objectMapper.writeValue(OutputStream.nullOutputStream(), response.getBody());
+        });
+        long streamed = measure(() -> {
+            ResponseEntity<Object> response = client.get(PATH, 1L).block();
+            ((ProxiedBody) response.getBody()).transferTo(OutputStream.nullOutputStream());
+        });
+
+        log.info("Allocated per request: parse and re-serialize={} KB, streaming={} KB", parsed / 1024,
+                streamed / 1024);
+        assertThat(streamed).isLessThan(parsed);
+    }
+
+    private long measure(IoAction action) {
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                action.run();
+            }
+            long threadId = Thread.currentThread().threadId();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                action.run();
+            }
+            long allocated = (threads.getThreadAllocatedBytes(threadId) - before) / ROUNDS;
+            log.info("{} us per request", (System.nanoTime() - start) / 1_000 / ROUNDS);
+            return allocated;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Map<String, Object>> bookings() {
+        List<Map<String, Object>> bookings = new ArrayList<>(BOOKINGS);
+        for (int i = 1; i <= BOOKINGS; i++) {
+            bookings.add(Map.of(
+                    "id", i,
+                    "start", "2024-08-01T10:00:00",
+                    "end", "2024-08-02T10:00:00",
+                    "status", "APPROVED",
+                    "booker", Map.of("id", i % 50 + 1, "name", "booker" + i % 50),
+                    "item", Map.of("id", i % 200 + 1, "name", "item " + i % 200,
+                            "description", "description of item " + i % 200, "available", true)));
+        }
+        return bookings;
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
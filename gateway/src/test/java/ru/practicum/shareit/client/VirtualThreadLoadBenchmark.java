@@ -0,0 +1,137 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires a burst of concurrent requests at the gateway in front of a stub server that answers after a fixed
+ * delay, once with platform request threads and once with virtual threads, both in the same JVM and heap.
+ * The reactive runtime is measured against the same stub the same way.
+ * Not picked up by the default surefire includes, run it explicitly:
+ * {@code mvn test -pl gateway -Dtest=VirtualThreadLoadBenchmark}.
+ */
+@Slf4j
+class VirtualThreadLoadBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 800;
+    private static final Duration SERVER_LATENCY = Duration.ofSeconds(1);
+    private static final byte[] PAYLOAD = "[{\"id\":1,\"status\":\"APPROVED\"}]".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        server.setExecutor(serverExecutor);
+        server.createContext("/bookings", exchange -> {
+            try {
+                Thread.sleep(SERVER_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, PAYLOAD.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(PAYLOAD);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.close();
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Duration platform = runBurst(false, "servlet");
+        Duration virtual = runBurst(true, "servlet");
+
+        log.info("{} concurrent requests, {} ms server latency: platform threads={} ms, virtual threads={} ms",
+                CONCURRENT_REQUESTS, SERVER_LATENCY.toMillis(), platform.toMillis(), virtual.toMillis());
+        assertThat(virtual).isLessThan(platform);
+    }
+
+    @Test
+    void comparePlatformThreadsAndReactiveRuntime() throws Exception {
+        Duration platform = runBurst(false, "servlet");
+        Duration reactive = runBurst(false, "reactive");
+
+        log.info("{} concurrent requests, {} ms server latency: platform threads={} ms, reactive={} ms",
+                CONCURRENT_REQUESTS, SERVER_LATENCY.toMillis(), platform.toMillis(), reactive.toMillis());
+        assertThat(reactive).isLessThan(platform);
+    }
+
+    private Duration runBurst(boolean virtualThreads, String runtime) throws Exception {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.main.web-application-type=" + runtime,
+                        "--server.tomcat.accept-count=" + CONCURRENT_REQUESTS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                        "--shareit-gateway.http-client.max-total=" + CONCURRENT_REQUESTS,
+                        "--shareit-gateway.http-client.max-per-route=" + CONCURRENT_REQUESTS,
+                        "--logging.level.org.zalando.logbook=INFO",
+                        "--logging.level.org.springframework.web.client.RestTemplate=INFO");
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .build()) {
+            int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings"))
+                    .header("X-Sharer-User-Id", "1")
+                    .build();
+
+            warmUp(http, request, 200);
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                responses.add(http.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+            return elapsed;
+        }
+    }
+
+    private static void warmUp(HttpClient http, HttpRequest request, int times) throws Exception {
+        List<CompletableFuture<HttpResponse<Void>>> warmup = new ArrayList<>(times);
+        for (int i = 0; i < times; i++) {
+            warmup.add(http.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        CompletableFuture.allOf(warmup.toArray(CompletableFuture[]::new)).join();
+    }
+}
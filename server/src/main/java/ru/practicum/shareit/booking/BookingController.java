@@ -3,9 +3,15 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -26,6 +32,14 @@ public class BookingController {
         return created;
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(@RequestBody List<BookingCreateDto> bookingDtos,
+                                                      @RequestHeader("X-Sharer-User-Id") long bookerId) {
+        List<BookingBatchResultDto> results = service.createBookings(bookingDtos, bookerId);
+        log.info("Successfully processed batch of {} bookings by booker id={}", results.size(), bookerId);
+        return results;
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveBooking(@RequestHeader("X-Sharer-User-Id") long ownerId,
                                      @PathVariable long bookingId,
@@ -35,6 +49,15 @@ public class BookingController {
         return approved;
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDto> approveBookings(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                            @RequestBody List<Long> bookingIds,
+                                            @RequestParam("approved") boolean isApproved) {
+        List<BookingDto> decided = service.approveBookings(ownerId, bookingIds, isApproved);
+        log.info("Successfully set {} bookings of owner id={} approved={}", decided.size(), ownerId, isApproved);
+        return decided;
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
                                  @PathVariable long bookingId) {
@@ -44,20 +67,61 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getBookingsByBookerId(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                                  @RequestParam State state) {
-        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
-        log.info("Successfully get {} bookings by booker id={}", bookingsByBookerId.size(), bookerId);
-        return bookingsByBookerId;
+    public ResponseEntity<List<BookingDto>> getBookingsByBookerId(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                                                  @RequestParam State state,
+                                                                  @RequestParam(defaultValue = "0") int from,
+                                                                  @RequestParam(defaultValue = "10") int size,
+                                                                  @RequestParam(required = false) String cursor) {
+        CursorPage<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, from, size, cursor);
+        log.info("Successfully get {} bookings by booker id={}", bookingsByBookerId.content().size(), bookerId);
+        return ResponseEntity.ok()
+                .headers(bookingsByBookerId.headers())
+                .body(bookingsByBookerId.content());
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                               @RequestParam(value = "state",
-                                                       required = false,
-                                                       defaultValue = "ALL") State state) {
-        List<BookingDto> bookingsByItemOwnerId = service.getBookingsByItemOwnerId(ownerId, state);
-        log.info("Successfully get {} booking by item's owner id={}", bookingsByItemOwnerId.size(), ownerId);
-        return bookingsByItemOwnerId;
+    public ResponseEntity<List<BookingDto>> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                               @RequestParam(value = "state",
+                                                                       required = false,
+                                                                       defaultValue = "ALL") State state,
+                                                               @RequestParam(defaultValue = "0") int from,
+                                                               @RequestParam(defaultValue = "10") int size,
+                                                               @RequestParam(required = false) String cursor) {
+        CursorPage<BookingDto> bookingsByItemOwnerId = service.getBookingsByItemOwnerId(ownerId, state, from, size,
+                cursor);
+        log.info("Successfully get {} booking by item's owner id={}", bookingsByItemOwnerId.content().size(),
+                ownerId);
+        return ResponseEntity.ok()
+                .headers(bookingsByItemOwnerId.headers())
+                .body(bookingsByItemOwnerId.content());
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByBookerId(
+            @RequestHeader("X-Sharer-User-Id") long bookerId,
+            @RequestParam(defaultValue = "ALL") State state) {
+        StreamingResponseBody bookings = service.exportBookingsByBookerId(bookerId, state);
+        log.info("Start export of {} bookings by booker id={}", state, bookerId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookings);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") long ownerId,
+            @RequestParam(defaultValue = "ALL") State state) {
+        StreamingResponseBody bookings = service.exportBookingsByItemOwnerId(ownerId, state);
+        log.info("Start export of {} bookings by item's owner id={}", state, ownerId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookings);
+    }
+
+    @GetMapping("/events")
+    public SseEmitter subscribe(@RequestHeader("X-Sharer-User-Id") long userId) {
+        SseEmitter emitter = service.subscribe(userId);
+        log.info("User id={} subscribed to booking events", userId);
+        return emitter;
     }
 }
@@ -6,6 +6,7 @@ import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 
 @Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
 public interface BookingMapper {
@@ -15,6 +16,18 @@ public interface BookingMapper {
     @Mapping(target = "item.nextBooking", ignore = true)
     BookingDto toBookingDto(Booking booking);
 
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.comments", ignore = true)
+    @Mapping(target = "item.lastBooking", ignore = true)
+    @Mapping(target = "item.nextBooking", ignore = true)
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    BookingDto toBookingDtoFromView(BookingView view);
+
     @Mapping(target = "item", ignore = true)
     BookingDto toBookingDtoForItem(Booking booking);
 
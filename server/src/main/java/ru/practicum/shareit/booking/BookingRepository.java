@@ -1,24 +1,71 @@
 package ru.practicum.shareit.booking;
 
-import org.hibernate.annotations.Fetch;
-import org.hibernate.annotations.FetchMode;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Fetch(value = FetchMode.JOIN)
-    List<Booking> findByItemIdOrderByStart(long itemId);
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingViewRepository {
+    @Query("""
+            SELECT COUNT(b) > 0 FROM Booking b
+                WHERE b.item.id = :itemId
+                    AND b.status IN (ru.practicum.shareit.booking.BookingStatus.WAITING,
+                                     ru.practicum.shareit.booking.BookingStatus.APPROVED)
+                    AND b.start < :end AND b.end > :start
+            """)
+    boolean existsOverlapping(@Param("itemId") long itemId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end);
 
-    @EntityGraph(attributePaths = {"item", "booker"})
-    List<Booking> findByBookerId(long bookerId);
+    @Query("""
+            SELECT b FROM Booking b
+                WHERE b.item.id IN :itemIds
+                    AND b.status IN (ru.practicum.shareit.booking.BookingStatus.WAITING,
+                                     ru.practicum.shareit.booking.BookingStatus.APPROVED)
+                    AND b.start < :end AND b.end > :start
+            """)
+    List<Booking> findOverlapping(@Param("itemIds") Collection<Long> itemIds,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT b FROM Booking b
+                JOIN FETCH b.item
+                JOIN FETCH b.booker
+                WHERE b.id IN :ids
+            """)
+    List<Booking> findAllWithItemAndBooker(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
 
     List<Booking> findByBookerIdAndItemId(long bookerId, long itemId);
 
-    @EntityGraph(attributePaths = {"item", "booker"})
-    List<Booking> findByItemOwnerId(long ownerId);
+    @Query("""
+            SELECT b FROM Booking b
+                JOIN FETCH b.booker
+                WHERE b.item.id IN :itemIds
+                    AND b.start = (SELECT MAX(l.start) FROM Booking l
+                                       WHERE l.item.id = b.item.id AND l.start <= :now)
+            """)
+    List<Booking> findLastBookings(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT b FROM Booking b
+                JOIN FETCH b.booker
+                WHERE b.item.id IN :itemIds
+                    AND b.start = (SELECT MIN(n.start) FROM Booking n
+                                       WHERE n.item.id = b.item.id AND n.start > :now)
+            """)
+    List<Booking> findNextBookings(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
 }
@@ -1,32 +1,64 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.event.BookingCreatedEvent;
+import ru.practicum.shareit.booking.event.BookingEventStream;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.export.NdjsonExporter;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.entity.Item;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.Paging;
+import ru.practicum.shareit.user.UserIdRegistry;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "start", "id");
+    private static final String OVERLAP_CONSTRAINT = "booking_no_overlap";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserIdRegistry userIdRegistry;
     private final ItemRepository itemRepository;
     private final BookingMapper mapper;
+    private final NdjsonExporter exporter;
+    private final BookingEventStream eventStream;
+    private final ApplicationEventPublisher events;
 
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @Transactional
     public BookingDto createBooking(BookingCreateDto dto, long bookerId) {
         validateBookingCreateDto(dto);
         Item item = itemRepository.findById(dto.getItemId())
@@ -34,19 +66,77 @@ public class BookingService {
         if (item.getOwner().getId() == bookerId) {
             throw new ValidationException("Can't book your own item");
         }
-        if (!userRepository.existsById(bookerId)) {
+        if (!userIdRegistry.exists(bookerId)) {
             throw new NotFoundException("There is no user with id=" + bookerId);
         }
         if (!item.getAvailable()) {
             throw new ValidationException("Item is not available");
         }
-        boolean isCrossing = bookingRepository.findByItemIdOrderByStart(item.getId()).stream()
-                .anyMatch(booking -> isCrossingWithOtherBookings(booking, dto));
-        if (isCrossing) {
+        if (bookingRepository.existsOverlapping(item.getId(), dto.getStart(), dto.getEnd())) {
             throw new ValidationException("item is already booked for this time");
         }
-        Booking saved = bookingRepository.save(mapper.toBooking(dto, bookerId, item.getName()));
-        return mapper.toBookingDto(saved);
+        Booking saved;
+        try {
+            saved = bookingRepository.saveAndFlush(mapper.toBooking(dto, bookerId, item.getName()));
+        } catch (DataIntegrityViolationException e) {
+            throw overlapOrRethrow(e);
+        }
+        BookingDto created = mapper.toBookingDto(saved);
+        events.publishEvent(new BookingCreatedEvent(item.getOwner().getId(), created));
+        return created;
+    }
+
+    @Transactional
+    public List<BookingBatchResultDto> createBookings(List<BookingCreateDto> dtos, long bookerId) {
+        if (!userIdRegistry.exists(bookerId)) {
+            throw new NotFoundException("There is no user with id=" + bookerId);
+        }
+        Set<Long> itemIds = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingCreateDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> activeBookings = findActiveBookings(dtos, items.keySet());
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[dtos.size()];
+        List<Booking> pending = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            BookingCreateDto dto = dtos.get(i);
+            try {
+                Item item = checkBookable(dto, bookerId, items, activeBookings);
+                Booking booking = mapper.toBooking(dto, bookerId, item.getName());
+                activeBookings.computeIfAbsent(item.getId(), id -> new ArrayList<>()).add(booking);
+                pending.add(booking);
+                pendingIndexes.add(i);
+            } catch (ValidationException | NotFoundException e) {
+                results[i] = BookingBatchResultDto.builder()
+                        .index(i)
+                        .error(e.getMessage())
+                        .build();
+            }
+        }
+
+        try {
+            bookingRepository.saveAll(pending);
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw overlapOrRethrow(e);
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pendingIndexes.get(i);
+            Booking booking = pending.get(i);
+            BookingDto created = mapper.toBookingDto(booking);
+            events.publishEvent(new BookingCreatedEvent(
+                    items.get(booking.getItem().getId()).getOwner().getId(), created));
+            results[index] = BookingBatchResultDto.builder()
+                    .index(index)
+                    .booking(created)
+                    .build();
+        }
+        return Arrays.asList(results);
     }
 
     @Transactional(isolation = Isolation.REPEATABLE_READ)
@@ -63,8 +153,49 @@ public class BookingService {
         } else {
             booking.setStatus(isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         }
-        Booking saved = bookingRepository.save(booking);
-        return mapper.toBookingDto(saved);
+        Booking saved;
+        try {
+            saved = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw overlapOrRethrow(e);
+        }
+        BookingDto decided = mapper.toBookingDto(saved);
+        events.publishEvent(new BookingStatusChangedEvent(saved.getBooker().getId(), decided));
+        return decided;
+    }
+
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public List<BookingDto> approveBookings(long ownerId, List<Long> bookingIds, boolean isApproved) {
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemAndBooker(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        BookingStatus status = isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        List<BookingDto> decided = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                throw new NotFoundException("There is no booking with id=" + id);
+            }
+            if (booking.getItem().getOwner().getId() != ownerId) {
+                throw new ValidationException("User don't own item to approve booking id=" + id);
+            }
+            if (booking.getStatus() == status) {
+                throw new ValidationException("Booking id=" + id + " is already " + status.name().toLowerCase());
+            }
+            BookingDto dto = mapper.toBookingDto(booking);
+            dto.setStatus(status);
+            decided.add(dto);
+            events.publishEvent(new BookingStatusChangedEvent(booking.getBooker().getId(), dto));
+        }
+        try {
+            bookingRepository.updateStatus(ids, status);
+        } catch (DataIntegrityViolationException e) {
+            throw overlapOrRethrow(e);
+        }
+        return decided;
     }
 
     public BookingDto getBooking(long userId, long bookingId) {
@@ -78,40 +209,129 @@ public class BookingService {
     }
 
     @Transactional(readOnly = true)
-    public List<BookingDto> getBookingsByBookerId(long bookerId, State state) {
-        Predicate<Booking> predicateByState = getPredicateByState(state);
-        return bookingRepository.findByBookerId(bookerId)
-                .stream()
-                .filter(predicateByState)
-                .map(mapper::toBookingDto)
-                .toList();
+    public CursorPage<BookingDto> getBookingsByBookerId(long bookerId, State state,
+                                                        int from, int size, String cursor) {
+        Specification<Booking> spec = Specification.where(BookingSpecifications.bookedBy(bookerId))
+                .and(BookingSpecifications.inState(state, LocalDateTime.now()));
+        return findPage(spec, from, size, cursor);
     }
 
     @Transactional(readOnly = true)
-    public List<BookingDto> getBookingsByItemOwnerId(long ownerId, State state) {
-        if (!userRepository.existsById(ownerId)) {
+    public CursorPage<BookingDto> getBookingsByItemOwnerId(long ownerId, State state,
+                                                           int from, int size, String cursor) {
+        if (!userIdRegistry.exists(ownerId)) {
             throw new NotFoundException("There is no user with id=" + ownerId);
         }
-        if (itemRepository.findByOwnerId(ownerId).isEmpty()) {
+        if (!itemRepository.existsByOwnerId(ownerId)) {
             throw new NotFoundException("User don't have any items");
         }
-        Predicate<Booking> predicateByState = getPredicateByState(state);
-        return bookingRepository.findByItemOwnerId(ownerId).stream()
-                .filter(predicateByState)
+        Specification<Booking> spec = Specification.where(BookingSpecifications.ofItemsOwnedBy(ownerId))
+                .and(BookingSpecifications.inState(state, LocalDateTime.now()));
+        return findPage(spec, from, size, cursor);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        if (!userIdRegistry.exists(userId)) {
+            throw new NotFoundException("There is no user with id=" + userId);
+        }
+        return eventStream.subscribe(userId);
+    }
+
+    public StreamingResponseBody exportBookingsByBookerId(long bookerId, State state) {
+        if (!userIdRegistry.exists(bookerId)) {
+            throw new NotFoundException("There is no user with id=" + bookerId);
+        }
+        Specification<Booking> spec = Specification.where(BookingSpecifications.fetchItemAndBooker())
+                .and(BookingSpecifications.bookedBy(bookerId))
+                .and(BookingSpecifications.inState(state, LocalDateTime.now()));
+        return exporter.export(Booking.class, spec, NEWEST_FIRST, this::toBookingDtos);
+    }
+
+    public StreamingResponseBody exportBookingsByItemOwnerId(long ownerId, State state) {
+        if (!userIdRegistry.exists(ownerId)) {
+            throw new NotFoundException("There is no user with id=" + ownerId);
+        }
+        Specification<Booking> spec = Specification.where(BookingSpecifications.fetchItemAndBooker())
+                .and(BookingSpecifications.ofItemsOwnedBy(ownerId))
+                .and(BookingSpecifications.inState(state, LocalDateTime.now()));
+        return exporter.export(Booking.class, spec, NEWEST_FIRST, this::toBookingDtos);
+    }
+
+    private List<BookingDto> toBookingDtos(List<Booking> bookings) {
+        return bookings.stream()
                 .map(mapper::toBookingDto)
                 .toList();
     }
 
-    private Predicate<Booking> getPredicateByState(State state) {
-        LocalDateTime current = LocalDateTime.now();
-        return switch (state) {
-            case ALL -> booking -> true;
-            case PAST -> booking -> booking.getEnd().isBefore(current);
-            case FUTURE -> booking -> booking.getStart().isAfter(current);
-            case CURRENT -> booking -> booking.getStart().isBefore(current) && booking.getEnd().isAfter(current);
-            case WAITING -> booking -> booking.getStatus() == BookingStatus.WAITING;
-            case REJECTED -> booking -> booking.getStatus() == BookingStatus.REJECTED;
-        };
+    private CursorPage<BookingDto> findPage(Specification<Booking> spec, int from, int size, String cursor) {
+        KeysetCursor after = Paging.keyset(cursor);
+        int offset = after != null ? 0 : Paging.offset(from);
+        int limit = Paging.limit(size);
+        List<BookingView> rows = bookingRepository.findViews(spec, after, offset, limit + 1);
+        return Paging.toPage(rows, limit, mapper::toBookingDtoFromView, BookingView::start, BookingView::id);
+    }
+
+    private Map<Long, List<Booking>> findActiveBookings(List<BookingCreateDto> dtos, Set<Long> itemIds) {
+        List<BookingCreateDto> periods = dtos.stream()
+                .filter(dto -> dto != null && dto.getStart() != null && dto.getEnd() != null)
+                .toList();
+        Map<Long, List<Booking>> activeBookings = new HashMap<>();
+        if (itemIds.isEmpty() || periods.isEmpty()) {
+            return activeBookings;
+        }
+        LocalDateTime start = periods.stream()
+                .map(BookingCreateDto::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = periods.stream()
+                .map(BookingCreateDto::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        for (Booking booking : bookingRepository.findOverlapping(itemIds, start, end)) {
+            activeBookings.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>()).add(booking);
+        }
+        return activeBookings;
+    }
+
+    private Item checkBookable(BookingCreateDto dto, long bookerId, Map<Long, Item> items,
+                               Map<Long, List<Booking>> activeBookings) {
+        if (dto == null || dto.getItemId() == null || dto.getStart() == null || dto.getEnd() == null) {
+            throw new ValidationException("Booking must have item id, start and end");
+        }
+        validateBookingCreateDto(dto);
+        Item item = items.get(dto.getItemId());
+        if (item == null) {
+            throw new NotFoundException("There is no item with id=" + dto.getItemId());
+        }
+        if (item.getOwner().getId() == bookerId) {
+            throw new ValidationException("Can't book your own item");
+        }
+        if (!item.getAvailable()) {
+            throw new ValidationException("Item is not available");
+        }
+        boolean overlaps = activeBookings.getOrDefault(item.getId(), List.of()).stream()
+                .anyMatch(other -> other.getStart().isBefore(dto.getEnd()) && other.getEnd().isAfter(dto.getStart()));
+        if (overlaps) {
+            throw new ValidationException("item is already booked for this time");
+        }
+        return item;
+    }
+
+    /**
+     * Turns a violation of the booking_no_overlap exclusion constraint into the usual overlap error and rethrows
+     * any other integrity error, e.g. a booker deleted by a concurrent request.
+     */
+    private static ValidationException overlapOrRethrow(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                if (EXCLUSION_VIOLATION.equals(sqlException.getSQLState())
+                        && String.valueOf(sqlException.getMessage()).contains(OVERLAP_CONSTRAINT)) {
+                    return new ValidationException("item is already booked for this time");
+                }
+                break;
+            }
+        }
+        throw e;
     }
 
     private void validateBookingCreateDto(BookingCreateDto dto) {
@@ -126,14 +346,4 @@ public class BookingService {
             throw new ValidationException("Start booking can't be equal to end booking");
         }
     }
-
-    private boolean isCrossingWithOtherBookings(Booking booking, BookingCreateDto dto) {
-        if (booking.getStart().isBefore(dto.getStart())) {
-            return booking.getEnd().isAfter(dto.getStart());
-        } else if (dto.getStart().isBefore(booking.getStart())) {
-            return dto.getEnd().isAfter(booking.getStart());
-        } else {
-            return true;
-        }
-    }
 }
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    static Specification<Booking> fetchItemAndBooker() {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("item", JoinType.INNER);
+                root.fetch("booker", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+
+    static Specification<Booking> bookedBy(long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    static Specification<Booking> ofItemsOwnedBy(long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("item").get("owner").get("id"), ownerId);
+    }
+
+    static Specification<Booking> inState(State state, LocalDateTime now) {
+        return (root, query, cb) -> switch (state) {
+            case ALL -> null;
+            case PAST -> cb.lessThan(root.get("end"), now);
+            case FUTURE -> cb.greaterThan(root.get("start"), now);
+            case CURRENT -> cb.and(cb.lessThan(root.get("start"), now), cb.greaterThan(root.get("end"), now));
+            case WAITING -> cb.equal(root.get("status"), BookingStatus.WAITING);
+            case REJECTED -> cb.equal(root.get("status"), BookingStatus.REJECTED);
+        };
+    }
+}
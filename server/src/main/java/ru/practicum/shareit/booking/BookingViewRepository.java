@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.util.List;
+
+public interface BookingViewRepository {
+
+    /**
+     * Selects booking list rows newest first, joining item and booker only for the columns of {@link BookingView}.
+     * The specification must not add fetch joins. Rows start after {@code after} when it is given, otherwise at
+     * {@code offset}.
+     */
+    List<BookingView> findViews(Specification<Booking> spec, @Nullable KeysetCursor after, int offset, int limit);
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingViewRepositoryImpl implements BookingViewRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findViews(Specification<Booking> spec, @Nullable KeysetCursor after, int offset,
+                                       int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> root = query.from(Booking.class);
+        Path<Object> item = root.get("item");
+        Path<Object> booker = root.get("booker");
+        Path<LocalDateTime> start = root.get("start");
+        Path<Long> id = root.get("id");
+        query.select(cb.construct(BookingView.class,
+                id,
+                start,
+                root.get("end"),
+                root.get("status"),
+                item.get("id"),
+                item.get("name"),
+                item.get("description"),
+                item.get("available"),
+                booker.get("id"),
+                booker.get("name"),
+                booker.get("email")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(start, after.timestamp()),
+                    cb.and(cb.equal(start, after.timestamp()), cb.lessThan(id, after.id()))));
+        }
+        query.where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(start), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
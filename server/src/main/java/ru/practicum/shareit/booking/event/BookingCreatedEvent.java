@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.event;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.outbox.DomainEvent;
+
+/**
+ * A booking was created and waits for the decision of the item's owner.
+ */
+public record BookingCreatedEvent(long ownerId, BookingDto booking) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "booking";
+    }
+
+    @Override
+    public long aggregateId() {
+        return booking.getId();
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes booking changes to subscribed users as server-sent events. A subscription is an async request, so an
+ * idle subscriber holds a socket but no thread. Events are sent only after the publishing transaction commits,
+ * and a periodic comment keeps quiet streams under the read timeouts of the gateway and other proxies.
+ * <p>
+ * Publishers only enqueue: every subscriber has a bounded queue drained by its own virtual thread, so a slow
+ * client never blocks the committing request or the heartbeat. A subscriber whose queue is full is completed
+ * and has to reconnect.
+ */
+@Slf4j
+@Component
+public class BookingEventStream implements DisposableBean {
+
+    public static final String BOOKING_CREATED = "booking-created";
+    public static final String BOOKING_STATUS = "booking-status";
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final int queueCapacity;
+    private final ScheduledExecutorService heartbeats;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("booking-events-sender-", 0).factory());
+
+    public BookingEventStream(@Value("${shareit.booking-events.timeout}") Duration timeout,
+                              @Value("${shareit.booking-events.heartbeat}") Duration heartbeat,
+                              @Value("${shareit.booking-events.queue-capacity}") int queueCapacity) {
+        this.timeout = timeout;
+        this.queueCapacity = queueCapacity;
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("booking-events-heartbeat").daemon().factory());
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            Set<Subscriber> result = userSubscribers != null ? userSubscribers : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        send(event.ownerId(), SseEmitter.event()
+                .name(BOOKING_CREATED)
+                .data(event.booking(), MediaType.APPLICATION_JSON));
+    }
+
+    @TransactionalEventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        send(event.bookerId(), SseEmitter.event()
+                .name(BOOKING_STATUS)
+                .data(event.booking(), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(s -> s.emitter().complete()));
+        subscribers.clear();
+    }
+
+    private void sendHeartbeats() {
+        subscribers.keySet().forEach(userId -> send(userId, SseEmitter.event().comment("heartbeat")));
+    }
+
+    private void send(long userId, SseEmitter.SseEventBuilder event) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> data = event.build();
+        for (Subscriber subscriber : userSubscribers) {
+            if (!subscriber.queue().offer(data)) {
+                log.debug("Dropping booking events subscriber of user id={}: queue is full", userId);
+                unsubscribe(subscriber);
+                subscriber.emitter().complete();
+            } else if (subscriber.draining().compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<ResponseBodyEmitter.DataWithMediaType> data;
+            while ((data = subscriber.queue().poll()) != null) {
+                try {
+                    subscriber.emitter().send(data);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping booking events subscriber of user id={}: {}",
+                            subscriber.userId(), e.getMessage());
+                    unsubscribe(subscriber);
+                    subscriber.queue().clear();
+                    subscriber.emitter().completeWithError(e);
+                    return;
+                }
+            }
+            subscriber.draining().set(false);
+        } while (!subscriber.queue().isEmpty() && subscriber.draining().compareAndSet(false, true));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId(), (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private record Subscriber(long userId,
+                              SseEmitter emitter,
+                              BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue,
+                              AtomicBoolean draining) {
+
+        Subscriber(long userId, SseEmitter emitter, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this(userId, emitter, queue, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.event;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.outbox.DomainEvent;
+
+/**
+ * The item's owner approved or rejected a booking.
+ */
+public record BookingStatusChangedEvent(long bookerId, BookingDto booking) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "booking";
+    }
+
+    @Override
+    public long aggregateId() {
+        return booking.getId();
+    }
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 @Getter
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_id_seq")
+    @SequenceGenerator(name = "booking_id_seq", sequenceName = "booking_id_seq", allocationSize = 50)
     private Long id;
     @Column(name = "start_time")
     private LocalDateTime start;
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row with exactly the columns a booking list needs; never attached to the persistence context.
+ */
+public record BookingView(Long id,
+                          LocalDateTime start,
+                          LocalDateTime end,
+                          BookingStatus status,
+                          Long itemId,
+                          String itemName,
+                          String itemDescription,
+                          Boolean itemAvailable,
+                          Long bookerId,
+                          String bookerName,
+                          String bookerEmail) {
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.spec}") String spec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        caffeineCacheManager.setCacheNames(List.of(USERS, ITEMS));
+        caffeineCacheManager.setAllowNullValues(false);
+        // puts and evictions made inside a transaction are applied only after it commits
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes query results as newline-delimited JSON while they are read from a server-side cursor. Rows are fetched,
+ * mapped and flushed to the client in chunks of {@link #CHUNK_SIZE}, and the persistence context is cleared after
+ * every chunk, so heap use does not grow with the size of the export.
+ */
+@Component
+public class NdjsonExporter {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public NdjsonExporter(EntityManager entityManager, ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * The query runs when the response body is written, on the async request thread and in its own read-only
+     * transaction, so argument checks that should end in a 4xx response have to happen before calling this.
+     */
+    public <E> StreamingResponseBody export(Class<E> type, Specification<E> spec, Sort sort,
+                                            Function<List<E>, List<?>> mapper) {
+        return out -> readOnlyTransaction.executeWithoutResult(status -> write(out, type, spec, sort, mapper));
+    }
+
+    private <E> void write(OutputStream out, Class<E> type, Specification<E> spec, Sort sort,
+                           Function<List<E>, List<?>> mapper) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = cb.createQuery(type);
+        Root<E> root = query.from(type);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        try (Stream<E> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, CHUNK_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(generator, chunk, mapper);
+                }
+            }
+            writeChunk(generator, chunk, mapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <E> void writeChunk(JsonGenerator generator, List<E> chunk, Function<List<E>, List<?>> mapper)
+            throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (Object dto : mapper.apply(chunk)) {
+            rowWriter.writeValue(generator, dto);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        chunk.clear();
+        entityManager.clear();
+    }
+}
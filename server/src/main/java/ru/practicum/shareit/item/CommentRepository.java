@@ -1,7 +1,19 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.entity.Comment;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @Query("""
+            SELECT c FROM Comment c
+                JOIN FETCH c.author
+                WHERE c.item.id IN :itemIds
+                ORDER BY c.created
+            """)
+    List<Comment> findByItemIds(@Param("itemIds") Collection<Long> itemIds);
 }
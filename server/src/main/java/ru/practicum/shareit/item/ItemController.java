@@ -1,13 +1,27 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.item.catalog.CatalogFormat;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Slf4j
@@ -17,6 +31,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService service;
+    private final ItemImportService importService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -27,6 +42,21 @@ public class ItemController {
         return created;
     }
 
+    @PostMapping(path = "/import", consumes = {CatalogFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            CatalogFormat.APPLICATION_JSONL_VALUE})
+    public ItemImportResultDto importItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           @RequestHeader("X-Sharer-User-Id") long userId,
+                                           InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        try (Reader reader = new InputStreamReader(body, charset)) {
+            ItemImportResultDto result = importService.importItems(reader, CatalogFormat.fromContentType(contentType),
+                    userId);
+            log.info("Successfully imported {} items, rejected {} rows", result.getImported(), result.getRejected());
+            return result;
+        }
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestBody ItemCreateDto itemDto,
                               @RequestHeader("X-Sharer-User-Id") long userId,
@@ -51,10 +81,23 @@ public class ItemController {
         return items;
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItemsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                     HttpServletRequest request) {
+        StreamingResponseBody items = service.exportItemsByUserId(userId);
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        log.info("Start export of items by user id={}", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(items);
+    }
+
     @GetMapping("/search")
     public List<ItemDto> searchItemByText(@RequestParam(required = false) String text,
-                                          @RequestHeader("X-Sharer-User-Id") long userId) {
-        List<ItemDto> found = service.searchByText(text, userId);
+                                          @RequestHeader("X-Sharer-User-Id") long userId,
+                                          @RequestParam(defaultValue = "0") int from,
+                                          @RequestParam(defaultValue = "10") int size) {
+        List<ItemDto> found = service.searchByText(text, userId, from, size);
         log.info("Successfully found {} items", found.size());
         return found;
     }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.catalog.CatalogFormat;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports a catalog file on startup, e.g.
+ * {@code java -jar shareit-server.jar --spring.main.web-application-type=none
+ * --shareit.import.items.file=catalog.csv --shareit.import.items.owner-id=1}.
+ * The format is detected from the file extension: {@code .csv}, {@code .jsonl} or {@code .ndjson}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.import.items.file")
+public class ItemImportRunner implements ApplicationRunner {
+
+    private final ItemImportService importService;
+
+    @Value("${shareit.import.items.file}")
+    private Path file;
+
+    @Value("${shareit.import.items.owner-id}")
+    private long ownerId;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        CatalogFormat format = CatalogFormat.fromFileName(file.getFileName().toString());
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ItemImportResultDto result = importService.importItems(reader, format, ownerId);
+            log.info("Imported {} items from {}, rejected {} rows", result.getImported(), file, result.getRejected());
+            result.getErrors().forEach(error -> log.warn("Line {}: {}", error.line(), error.error()));
+        }
+    }
+}
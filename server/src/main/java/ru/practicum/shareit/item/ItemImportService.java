@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.catalog.CatalogFormat;
+import ru.practicum.shareit.item.catalog.CatalogReader;
+import ru.practicum.shareit.item.catalog.CatalogRow;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.event.ItemCreatedEvent;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserIdRegistry;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads a catalog row by row and commits it in chunks, so memory stays flat however large the source is.
+ * Rows that fail validation are skipped and reported; chunks committed before a database error stay imported.
+ * Every imported item publishes the same {@link ItemCreatedEvent} as one created through {@link ItemService}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemImportService {
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserIdRegistry userIdRegistry;
+    private final ItemMapper mapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+
+    public ItemImportResultDto importItems(Reader source, CatalogFormat format, long ownerId) {
+        if (!userIdRegistry.exists(ownerId)) {
+            throw new NotFoundException("There is no user with id=" + ownerId);
+        }
+        long imported = 0;
+        long rejected = 0;
+        List<ItemImportResultDto.RowError> errors = new ArrayList<>();
+        Map<Long, Boolean> knownRequests = new HashMap<>();
+        List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (CatalogReader reader = format.open(source, objectMapper)) {
+            CatalogRow row;
+            while ((row = reader.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.item(), knownRequests);
+                if (error != null) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new ItemImportResultDto.RowError(row.line(), error));
+                    }
+                    continue;
+                }
+                row.item().setId(null);
+                chunk.add(mapper.toItem(row.item(), ownerId));
+                if (chunk.size() == CHUNK_SIZE) {
+                    imported += save(chunk, ownerId);
+                }
+            }
+        } catch (IOException e) {
+            throw new ValidationException("Can't read catalog: " + e.getMessage());
+        }
+        imported += save(chunk, ownerId);
+        log.info("Imported {} items for owner id={}, rejected {} rows", imported, ownerId, rejected);
+        return ItemImportResultDto.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .errors(errors)
+                .build();
+    }
+
+    private int save(List<Item> chunk, long ownerId) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.saveAll(chunk);
+            chunk.forEach(item -> events.publishEvent(new ItemCreatedEvent(ownerId, mapper.toItemDto(item))));
+            entityManager.flush();
+            entityManager.clear();
+        });
+        int saved = chunk.size();
+        chunk.clear();
+        return saved;
+    }
+
+    private String validate(ItemCreateDto item, Map<Long, Boolean> knownRequests) {
+        Set<ConstraintViolation<ItemCreateDto>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (item.getRequestId() != null
+                && !knownRequests.computeIfAbsent(item.getRequestId(), itemRequestRepository::existsById)) {
+            return "There is no item request with id=" + item.getRequestId();
+        }
+        return null;
+    }
+}
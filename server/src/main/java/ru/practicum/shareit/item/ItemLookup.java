@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.entity.Item;
+
+@Component
+@RequiredArgsConstructor
+public class ItemLookup {
+
+    private final ItemRepository itemRepository;
+    private final ItemMapper mapper;
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ITEMS, key = "#id")
+    public CachedItem getItem(long id) {
+        Item item = itemRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("There is no item with id=" + id));
+        return new CachedItem(item.getOwner().getId(), mapper.toItemDto(item));
+    }
+
+    public record CachedItem(long ownerId, ItemDto item) {
+    }
+}
@@ -15,7 +15,6 @@ import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.user.entity.User;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper(componentModel = "spring", uses = BookingMapper.class)
@@ -26,10 +25,14 @@ public abstract class ItemMapper {
 
     abstract ItemDto toItemDto(Item item);
 
-    @Mapping(target = "lastBooking", expression = "java(this.getLastBooking(item))")
-    @Mapping(target = "nextBooking", expression = "java(this.getNextBooking(item))")
     @Mapping(target = "id", source = "item.id")
-    abstract ItemDto toItemDtoForOwner(Item item);
+    @Mapping(target = "name", source = "item.name")
+    @Mapping(target = "description", source = "item.description")
+    @Mapping(target = "available", source = "item.available")
+    @Mapping(target = "comments", source = "comments")
+    @Mapping(target = "lastBooking", source = "lastBooking", qualifiedByName = "bookingForItem")
+    @Mapping(target = "nextBooking", source = "nextBooking", qualifiedByName = "bookingForItem")
+    abstract ItemDto toItemDtoForOwner(Item item, Booking lastBooking, Booking nextBooking, List<Comment> comments);
 
     @Mapping(target = "owner.id", source = "ownerId")
     @Mapping(target = "itemRequest", source = "dto", qualifiedByName = "itemRequestStrategy")
@@ -55,32 +58,8 @@ public abstract class ItemMapper {
 
     }
 
-    protected BookingDto getLastBooking(Item item) {
-        List<Booking> bookings = item.getBookings();
-        if (bookings.isEmpty()) {
-            return null;
-        }
-        LocalDateTime now = LocalDateTime.now();
-        for (int i = 0; i < bookings.size(); i++) {
-            if (bookings.get(i).getStart().isAfter(now)) {
-                if (i == 0) return null;
-                else return bookingMapper.toBookingDto(bookings.get(i - 1));
-            }
-        }
-        return bookingMapper.toBookingDtoForItem(bookings.getLast());
-    }
-
-    protected BookingDto getNextBooking(Item item) {
-        List<Booking> bookings = item.getBookings();
-        if (bookings.isEmpty()) {
-            return null;
-        }
-        LocalDateTime now = LocalDateTime.now();
-        for (Booking booking : bookings) {
-            if (booking.getStart().isAfter(now)) {
-                return bookingMapper.toBookingDtoForItem(booking);
-            }
-        }
-        return null;
+    @Named("bookingForItem")
+    protected BookingDto toBookingDtoForItem(Booking booking) {
+        return bookingMapper.toBookingDtoForItem(booking);
     }
 }
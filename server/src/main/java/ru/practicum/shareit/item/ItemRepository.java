@@ -1,20 +1,58 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.entity.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOwnerId(long ownerId);
 
+    boolean existsByOwnerId(long ownerId);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.item.dto.ItemCreateDto(i.id, i.name, i.description, i.available,
+                                                                  i.itemRequest.id)
+                FROM Item i
+                WHERE i.itemRequest.id IN :requestIds
+                ORDER BY i.id
+            """)
+    List<ItemCreateDto> findAnswersByRequestIds(@Param("requestIds") Collection<Long> requestIds);
+
     @Query("""
-            SELECT i FROM Item i
-                WHERE available = TRUE AND (i.name ILIKE %:text% OR i.description ILIKE %:text%
-                )
+            SELECT new ru.practicum.shareit.item.dto.ItemCreateDto(i.id, i.name, i.description, i.available,
+                                                                  i.itemRequest.id)
+                FROM Item i
+                WHERE i.itemRequest.id IN :requestIds
+                    AND i.updated > :since
+                ORDER BY i.id
             """)
-    List<Item> findByText(@Param("text") String text);
+    List<ItemCreateDto> findAnswersChangedSince(@Param("requestIds") Collection<Long> requestIds,
+                                                @Param("since") LocalDateTime since);
+
+    @Query("SELECT MAX(i.updated) FROM Item i WHERE i.itemRequest.author.id = :authorId")
+    LocalDateTime findLastAnswerUpdateByRequestAuthorId(@Param("authorId") long authorId);
+
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderById(long id, Limit limit);
+
+    @Query(value = """
+            SELECT i.* FROM item i
+                WHERE i.available
+                    AND (i.search_vector @@ to_tsquery('simple', :query)
+                        OR i.name ILIKE :pattern
+                        OR i.description ILIKE :pattern)
+                ORDER BY ts_rank(i.search_vector, to_tsquery('simple', :query)) DESC, i.id
+                LIMIT :size OFFSET :from
+            """, nativeQuery = true)
+    List<Item> searchAvailable(@Param("query") String query,
+                               @Param("pattern") String pattern,
+                               @Param("from") int from,
+                               @Param("size") int size);
 }
 
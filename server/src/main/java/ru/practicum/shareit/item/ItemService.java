@@ -1,23 +1,41 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.export.NdjsonExporter;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.event.CommentCreatedEvent;
+import ru.practicum.shareit.item.event.ItemCreatedEvent;
+import ru.practicum.shareit.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.Paging;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.entity.User;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,19 +43,27 @@ public class ItemService {
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserIdRegistry userIdRegistry;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemMapper mapper;
+    private final ItemSearchEngine searchEngine;
+    private final ItemLookup itemLookup;
+    private final NdjsonExporter exporter;
+    private final ApplicationEventPublisher events;
 
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public ItemDto createItem(ItemCreateDto itemDto, long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdRegistry.exists(userId)) {
             throw new NotFoundException("There is no user with id=" + userId);
         }
         Item saved = itemRepository.save(mapper.toItem(itemDto, userId));
-        return mapper.toItemDto(saved);
+        ItemDto created = mapper.toItemDto(saved);
+        events.publishEvent(new ItemCreatedEvent(userId, created));
+        return created;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemId")
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public ItemDto update(ItemCreateDto itemDto, long userId, long itemId) {
         Item toUpdate = itemRepository.findById(itemId)
@@ -47,38 +73,74 @@ public class ItemService {
         }
         updateNotNullFields(itemDto, toUpdate);
         Item saved = itemRepository.save(toUpdate);
-        return mapper.toItemDto(saved);
+        ItemDto updated = mapper.toItemDto(saved);
+        events.publishEvent(new ItemUpdatedEvent(userId, updated));
+        return updated;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Runs without a surrounding transaction: the cache is transaction aware, so a put made inside a reader
+     * transaction would wait for its commit and could land after the eviction of a concurrent update.
+     */
     public ItemDto getItemById(long id, long userId) {
-        Item item = itemRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("There is no item with id=" + id));
+        ItemLookup.CachedItem cached = itemLookup.getItem(id);
 
-        if (item.getOwner().getId() == userId) {
-            return mapper.toItemDtoForOwner(item);
+        if (cached.ownerId() == userId) {
+            Item item = itemRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException("There is no item with id=" + id));
+            return toItemDtosForOwner(List.of(item)).getFirst();
         } else {
-            if (!userRepository.existsById(userId)) {
+            if (!userIdRegistry.exists(userId)) {
                 throw new NotFoundException("There is no user with id=" + userId);
             }
-            return mapper.toItemDto(item);
+            return cached.item();
         }
     }
 
     @Transactional(readOnly = true)
     public List<ItemDto> getItemByUserId(long userId) {
-        return itemRepository.findByOwnerId(userId).stream()
-                .map(mapper::toItemDtoForOwner)
+        return toItemDtosForOwner(itemRepository.findByOwnerId(userId));
+    }
+
+    public StreamingResponseBody exportItemsByUserId(long userId) {
+        if (!userIdRegistry.exists(userId)) {
+            throw new NotFoundException("There is no user with id=" + userId);
+        }
+        Specification<Item> ownedBy = (root, query, cb) -> cb.equal(root.get("owner").get("id"), userId);
+        return exporter.export(Item.class, ownedBy, Sort.by("id"), this::toItemDtosForOwner);
+    }
+
+    private List<ItemDto> toItemDtosForOwner(List<Item> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .toList();
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = byItemId(bookingRepository.findLastBookings(itemIds, now));
+        Map<Long, Booking> nextBookings = byItemId(bookingRepository.findNextBookings(itemIds, now));
+        Map<Long, List<Comment>> comments = commentRepository.findByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        return items.stream()
+                .map(item -> mapper.toItemDtoForOwner(item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), List.of())))
                 .toList();
     }
 
-    public List<ItemDto> searchByText(String text, long userId) {
-        return itemRepository.findByText(text).stream()
+    @Transactional(readOnly = true)
+    public List<ItemDto> searchByText(String text, long userId, int from, int size) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return searchEngine.search(text, Paging.offset(from), Paging.limit(size)).stream()
                 .map(mapper::toItemDto)
                 .toList();
-
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemId")
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public CommentDto createComment(CommentDto dto, long userId, long itemId) {
         User user = userRepository.findById(userId)
@@ -93,12 +155,20 @@ public class ItemService {
 
         if (hasPastBooking) {
             Comment saved = commentRepository.save(mapper.toComment(dto, item, user));
-            return mapper.toCommentDto(saved);
+            CommentDto created = mapper.toCommentDto(saved);
+            events.publishEvent(new CommentCreatedEvent(itemId, created));
+            return created;
         } else {
             throw new ValidationException("User has not ever booked item");
         }
     }
 
+    private static Map<Long, Booking> byItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        BinaryOperator.maxBy(Comparator.comparing(Booking::getId))));
+    }
+
     private static void updateNotNullFields(ItemCreateDto itemDto, Item toUpdate) {
         if (itemDto.getName() != null) {
             toUpdate.setName(itemDto.getName());
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.catalog;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads lines like {@link BufferedReader#readLine()}, but keeps at most {@code maxLength} characters of a line,
+ * so a huge line without a break can't exhaust the heap. The rest of such a line is skipped.
+ */
+class BoundedLineReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final int maxLength;
+    private boolean tooLong;
+
+    BoundedLineReader(BufferedReader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the next line without its terminator, or {@code null} at the end of the input.
+     */
+    String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        tooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            }
+            if (line.length() < maxLength) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+            c = reader.read();
+        }
+        return line.toString();
+    }
+
+    /**
+     * Tells whether the last line read was cut at {@code maxLength}.
+     */
+    boolean wasTooLong() {
+        return tooLong;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
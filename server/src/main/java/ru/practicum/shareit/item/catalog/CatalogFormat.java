@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+public enum CatalogFormat {
+    CSV,
+    JSON_LINES;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String APPLICATION_JSONL_VALUE = "application/jsonl";
+
+    public static CatalogFormat fromContentType(String contentType) {
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            throw new ValidationException("Unsupported catalog content type: " + contentType);
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            return CSV;
+        }
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                || mediaType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_JSONL_VALUE))) {
+            return JSON_LINES;
+        }
+        throw new ValidationException("Unsupported catalog content type: " + contentType);
+    }
+
+    public static CatalogFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new ValidationException("Can't detect catalog format of " + fileName);
+    }
+
+    public CatalogReader open(Reader source, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        return switch (this) {
+            case CSV -> new CsvCatalogReader(reader);
+            case JSON_LINES -> new JsonLinesCatalogReader(reader, objectMapper);
+        };
+    }
+}
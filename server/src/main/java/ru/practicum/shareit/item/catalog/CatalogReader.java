@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.catalog;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads catalog rows one at a time, so an import never holds more than the current row of the source.
+ */
+public interface CatalogReader extends Closeable {
+
+    /**
+     * Returns the next row, or {@code null} once the source is exhausted.
+     */
+    CatalogRow next() throws IOException;
+}
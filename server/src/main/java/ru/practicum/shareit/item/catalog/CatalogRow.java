@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.catalog;
+
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+public record CatalogRow(long line, ItemCreateDto item, String error) {
+
+    static CatalogRow parsed(long line, ItemCreateDto item) {
+        return new CatalogRow(line, item, null);
+    }
+
+    static CatalogRow rejected(long line, String error) {
+        return new CatalogRow(line, null, error);
+    }
+}
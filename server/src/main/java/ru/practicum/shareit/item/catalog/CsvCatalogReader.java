@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item.catalog;
+
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 style reader: a header row names the columns, fields may be quoted, quoted fields may contain
+ * commas, doubled quotes and line breaks.
+ */
+class CsvCatalogReader implements CatalogReader {
+
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String AVAILABLE = "available";
+    private static final String REQUEST_ID = "requestid";
+
+    private final BoundedLineReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long line;
+
+    CsvCatalogReader(BufferedReader reader) throws IOException {
+        this.reader = new BoundedLineReader(reader, MAX_RECORD_LENGTH);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new ValidationException("CSV catalog has no header");
+        }
+        if (header.getFirst().startsWith("\uFEFF")) {
+            header.set(0, header.getFirst().substring(1));
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(List.of(NAME, DESCRIPTION, AVAILABLE))) {
+            throw new ValidationException("CSV header must contain name, description and available columns");
+        }
+    }
+
+    @Override
+    public CatalogRow next() throws IOException {
+        List<String> record;
+        long start;
+        do {
+            start = line + 1;
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.getFirst().isBlank());
+
+        try {
+            return CatalogRow.parsed(start, ItemCreateDto.builder()
+                    .name(field(record, NAME))
+                    .description(field(record, DESCRIPTION))
+                    .available(toBoolean(field(record, AVAILABLE)))
+                    .requestId(toLong(field(record, REQUEST_ID)))
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return CatalogRow.rejected(start, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> record, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    private static Boolean toBoolean(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return switch (value.strip().toLowerCase(Locale.ROOT)) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("available must be true or false");
+        };
+    }
+
+    private static Long toLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("requestId must be a number");
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        String text = readLine();
+        if (text == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                String next = quoted ? readLine() : null;
+                if (next == null) {
+                    break;
+                }
+                field.append('\n');
+                text = next;
+                i = 0;
+                continue;
+            }
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new ValidationException("CSV record at line " + line + " is too long");
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String readLine() throws IOException {
+        String text = reader.readLine();
+        if (text != null) {
+            line++;
+            if (reader.wasTooLong()) {
+                throw new ValidationException("CSV record at line " + line + " is too long");
+            }
+        }
+        return text;
+    }
+}
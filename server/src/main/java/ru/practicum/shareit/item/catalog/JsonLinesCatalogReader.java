@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+class JsonLinesCatalogReader implements CatalogReader {
+
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final BoundedLineReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    JsonLinesCatalogReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = new BoundedLineReader(reader, MAX_LINE_LENGTH);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public CatalogRow next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (reader.wasTooLong()) {
+                return CatalogRow.rejected(line, "Line is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                return CatalogRow.parsed(line, objectMapper.readValue(text, ItemCreateDto.class));
+            } catch (JsonProcessingException e) {
+                return CatalogRow.rejected(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.item.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,8 +14,13 @@ import lombok.NoArgsConstructor;
 @Builder
 public class ItemCreateDto {
     private Long id;
+    @NotBlank
+    @Size(max = 128, message = "must be at most {max} characters")
     private String name;
+    @NotBlank
+    @Size(max = 255, message = "must be at most {max} characters")
     private String description;
+    @NotNull
     private Boolean available;
     private Long requestId;
 }
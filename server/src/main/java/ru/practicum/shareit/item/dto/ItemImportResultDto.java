@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ItemImportResultDto {
+    private long imported;
+    private long rejected;
+    private List<RowError> errors;
+
+    public record RowError(long line, String error) {
+    }
+}
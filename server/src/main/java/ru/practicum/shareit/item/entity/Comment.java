@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 @Entity
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_id_seq")
+    @SequenceGenerator(name = "comment_id_seq", sequenceName = "comment_id_seq", allocationSize = 50)
     private Long id;
     private String text;
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,23 +3,25 @@ package ru.practicum.shareit.item.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.DynamicUpdate;
-import ru.practicum.shareit.booking.model.Booking;
+import org.hibernate.annotations.UpdateTimestamp;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.user.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @Entity
-@EqualsAndHashCode(exclude = {"bookings", "comments", "itemRequest"})
-@ToString(exclude = {"bookings", "comments", "itemRequest"})
+@EqualsAndHashCode(exclude = {"comments", "itemRequest"})
+@ToString(exclude = {"comments", "itemRequest"})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @DynamicUpdate
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_id_seq")
+    @SequenceGenerator(name = "item_id_seq", sequenceName = "item_id_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String description;
@@ -28,12 +30,11 @@ public class Item {
     @JoinColumn(name = "owner_id")
     private User owner;
     @OneToMany(mappedBy = "item")
-    @OrderBy("start")
-    private List<Booking> bookings;
-    @OneToMany(mappedBy = "item")
     @OrderBy("created")
     private List<Comment> comments;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_request_id")
     private ItemRequest itemRequest;
+    @UpdateTimestamp
+    private LocalDateTime updated;
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.event;
+
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.outbox.DomainEvent;
+
+/**
+ * A past booker commented on an item.
+ */
+public record CommentCreatedEvent(long itemId, CommentDto comment) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "item";
+    }
+
+    @Override
+    public long aggregateId() {
+        return itemId;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.event;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.outbox.DomainEvent;
+
+/**
+ * An owner added an item.
+ */
+public record ItemCreatedEvent(long ownerId, ItemDto item) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "item";
+    }
+
+    @Override
+    public long aggregateId() {
+        return item.getId();
+    }
+}
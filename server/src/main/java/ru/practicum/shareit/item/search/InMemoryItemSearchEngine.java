@@ -0,0 +1,220 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Keeps an inverted index of available items in memory. It is maintained from the outbox: every item event makes
+ * the engine reload that item, so the index follows committed state within one relay poll, whatever order the
+ * events arrive in.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine, OutboxListener, SmartInitializingSingleton {
+
+    static final String ITEM = "item";
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    @Nullable
+    private List<Update> updatesDuringRebuild;
+
+    /**
+     * Builds the index while the context starts, before the web server accepts requests, so no search sees a
+     * half-built index.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Builds a new index aside and swaps it in. Updates applied meanwhile go to the current index and are
+     * replayed onto the new one, since the batches it was built from may predate them.
+     */
+    public synchronized void rebuild() {
+        withWriteLock(() -> updatesDuringRebuild = new ArrayList<>());
+        Index built = new Index();
+        try {
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(lastId,
+                        Limit.of(REBUILD_BATCH_SIZE));
+                for (Item item : batch) {
+                    built.apply(new Update(item.getId(), true,
+                            SearchTokens.words(item.getName() + " " + item.getDescription())));
+                    lastId = item.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            withWriteLock(() -> updatesDuringRebuild = null);
+            throw e;
+        }
+        withWriteLock(() -> {
+            updatesDuringRebuild.forEach(built::apply);
+            updatesDuringRebuild = null;
+            index = built;
+        });
+        log.info("Built in-memory search index for {} items, {} tokens", built.items(), built.tokens());
+    }
+
+    /**
+     * Loads the requested page of matches. Items that are gone from the database, e.g. removed together with
+     * their owner, are dropped from the index and the page is read again, so it is never short.
+     */
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        List<String> words = SearchTokens.words(text);
+        while (true) {
+            long[] matched = match(words);
+            if (from >= matched.length) {
+                return List.of();
+            }
+            List<Long> page = LongStream.of(matched)
+                    .skip(from)
+                    .limit(size)
+                    .boxed()
+                    .toList();
+            List<Item> found = itemRepository.findAllById(page);
+            if (found.size() == page.size()) {
+                return found.stream()
+                        .sorted(Comparator.comparing(Item::getId))
+                        .toList();
+            }
+            Set<Long> foundIds = found.stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toSet());
+            page.stream()
+                    .filter(id -> !foundIds.contains(id))
+                    .forEach(id -> apply(new Update(id, false, List.of())));
+        }
+    }
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        Set<Long> itemIds = events.stream()
+                .filter(event -> ITEM.equals(event.getAggregateType()))
+                .map(OutboxEvent::getAggregateId)
+                .collect(Collectors.toSet());
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        List<Item> items = itemRepository.findAllById(itemIds);
+        items.forEach(this::index);
+        items.forEach(item -> itemIds.remove(item.getId()));
+        itemIds.forEach(id -> apply(new Update(id, false, List.of())));
+    }
+
+    void index(Item item) {
+        apply(new Update(item.getId(), Boolean.TRUE.equals(item.getAvailable()),
+                SearchTokens.words(item.getName() + " " + item.getDescription())));
+    }
+
+    long[] match(List<String> words) {
+        if (words.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            return index.match(words);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Update update) {
+        withWriteLock(() -> {
+            index.apply(update);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record Update(long id, boolean available, List<String> tokens) {
+    }
+
+    private static final class Index {
+
+        private final NavigableMap<String, LongPostingList> postings = new TreeMap<>();
+        private final Map<Long, List<String>> tokensByItem = new HashMap<>();
+
+        long[] match(List<String> words) {
+            long[] result = null;
+            for (String word : words) {
+                long[] withPrefix = LongPostingList.union(postings.subMap(word, true, word + Character.MAX_VALUE, false)
+                        .values());
+                result = result == null ? withPrefix : LongPostingList.intersect(result, withPrefix);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        void apply(Update update) {
+            long id = update.id();
+            List<String> previous = tokensByItem.remove(id);
+            if (previous != null) {
+                for (String token : previous) {
+                    LongPostingList list = postings.get(token);
+                    if (list != null && list.remove(id) && list.isEmpty()) {
+                        postings.remove(token);
+                    }
+                }
+            }
+            if (update.available() && !update.tokens().isEmpty()) {
+                for (String token : update.tokens()) {
+                    postings.computeIfAbsent(token, key -> new LongPostingList()).add(id);
+                }
+                tokensByItem.put(id, update.tokens());
+            }
+        }
+
+        int items() {
+            return tokensByItem.size();
+        }
+
+        int tokens() {
+            return postings.size();
+        }
+    }
+}
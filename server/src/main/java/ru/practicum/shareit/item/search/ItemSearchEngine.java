@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.entity.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    List<Item> search(String text, int from, int size);
+}
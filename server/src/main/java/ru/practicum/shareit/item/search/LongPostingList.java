@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+final class LongPostingList {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] ids = new long[4];
+    private int size;
+
+    boolean add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    static long[] union(Collection<LongPostingList> lists) {
+        int total = 0;
+        for (LongPostingList list : lists) {
+            total += list.size;
+        }
+        if (total == 0) {
+            return EMPTY;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LongPostingList list : lists) {
+            System.arraycopy(list.ids, 0, merged, offset, list.size);
+            offset += list.size;
+        }
+        Arrays.sort(merged);
+        int distinct = 1;
+        for (int i = 1; i < merged.length; i++) {
+            if (merged[i] != merged[distinct - 1]) {
+                merged[distinct++] = merged[i];
+            }
+        }
+        return distinct == merged.length ? merged : Arrays.copyOf(merged, distinct);
+    }
+
+    static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+final class SearchTokens {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTokens() {
+    }
+
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(text.toLowerCase()))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "sql", matchIfMissing = true)
+public class SqlItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return itemRepository.searchAvailable(toPrefixTsQuery(text), toContainsPattern(text), from, size);
+    }
+
+    static String toPrefixTsQuery(String text) {
+        return SearchTokens.words(text).stream()
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    static String toContainsPattern(String text) {
+        return "%" + text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.outbox;
+
+/**
+ * A change published by a service inside its transaction. {@link OutboxWriter} stores every domain event in the
+ * outbox table of that transaction, and {@link OutboxRelay} hands it to the {@link OutboxListener}s after commit.
+ */
+public interface DomainEvent {
+
+    String aggregateType();
+
+    long aggregateId();
+}
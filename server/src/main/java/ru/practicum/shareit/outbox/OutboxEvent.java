@@ -0,0 +1,29 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_id_seq")
+    @SequenceGenerator(name = "outbox_event_id_seq", sequenceName = "outbox_event_id_seq", allocationSize = 50)
+    private Long id;
+    private String aggregateType;
+    private Long aggregateId;
+    private String eventType;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private JsonNode payload;
+    @CreationTimestamp
+    private LocalDateTime created;
+}
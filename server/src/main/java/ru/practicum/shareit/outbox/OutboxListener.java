@@ -0,0 +1,18 @@
+package ru.practicum.shareit.outbox;
+
+import java.util.List;
+
+/**
+ * Receives committed domain events from {@link OutboxRelay}, e.g. to update a search index or a cache.
+ * A batch is delivered at least once: if any listener throws, the batch stays in the outbox and is handed to
+ * every listener again on the next poll, so listeners have to tolerate repeated events.
+ * <p>
+ * Events arrive in id order, but ids come from pooled sequence blocks and are taken when the event is
+ * appended, before the transaction commits, so id order is neither commit order nor, for concurrent writers,
+ * the order of changes to one aggregate. Listeners should treat an event as a hint that its aggregate changed
+ * and read the aggregate's current state instead of applying payloads in sequence.
+ */
+public interface OutboxListener {
+
+    void onEvents(List<OutboxEvent> events);
+}
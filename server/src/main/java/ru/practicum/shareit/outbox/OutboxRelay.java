@@ -0,0 +1,92 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves committed events from the outbox table to the {@link OutboxListener}s off the write path. Each batch is
+ * locked, delivered and deleted in one transaction; a failing listener rolls the batch back for the next poll.
+ * Without a registered listener {@link OutboxWriter} stores nothing and the relay does not poll. Like
+ * {@link ru.practicum.shareit.user.UserIdRegistry}, the relay assumes a single server instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements DisposableBean {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectProvider<OutboxListener> listeners;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("outbox-relay").daemon().factory());
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       ObjectProvider<OutboxListener> listeners,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${shareit.outbox.relay.batch-size}") int batchSize,
+                       @Value("${shareit.outbox.relay.poll-interval}") Duration pollInterval) {
+        this.outboxRepository = outboxRepository;
+        this.listeners = listeners;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (listeners.orderedStream().findAny().isEmpty()) {
+            log.info("No outbox listeners registered, keeping events in the outbox");
+            return;
+        }
+        poller.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdownNow();
+    }
+
+    int relayBatch() {
+        List<OutboxListener> registered = listeners.orderedStream().toList();
+        if (registered.isEmpty()) {
+            return 0;
+        }
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            registered.forEach(listener -> listener.onEvents(batch));
+            outboxRepository.deleteAllInBatch(batch);
+            return batch.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+
+    private void drain() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay outbox events, retrying in {}", pollInterval, e);
+        }
+    }
+}
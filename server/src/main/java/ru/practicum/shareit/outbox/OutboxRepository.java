@@ -0,0 +1,23 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest pending events. The server runs as a single instance, so only one relay polls; the lock
+     * makes a relay of an overlapping instance, e.g. during a redeploy, wait for the batch instead of
+     * delivering it a second time or out of order.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_event
+            ORDER BY id
+            LIMIT :size
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("size") int size);
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores domain events in the outbox table of the publishing transaction. While no {@link OutboxListener} is
+ * registered nothing would ever consume them, so they are not stored at all.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<OutboxListener> listeners;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DomainEvent event) {
+        if (listeners.orderedStream().findAny().isEmpty()) {
+            return;
+        }
+        outboxRepository.save(OutboxEvent.builder()
+                .aggregateType(event.aggregateType())
+                .aggregateId(event.aggregateId())
+                .eventType(event.getClass().getSimpleName())
+                .payload(objectMapper.valueToTree(event))
+                .build());
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            headers.set(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record KeysetCursor(LocalDateTime timestamp, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp) + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor " + token);
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor " + token);
+        }
+    }
+}
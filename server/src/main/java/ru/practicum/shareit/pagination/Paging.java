@@ -0,0 +1,58 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+public final class Paging {
+
+    public static final int MAX_SIZE = 1000;
+
+    private Paging() {
+    }
+
+    /**
+     * Returns the page size capped at {@link #MAX_SIZE}, so callers can fetch {@code limit + 1} rows without
+     * overflowing.
+     */
+    public static int limit(int size) {
+        if (size <= 0) {
+            throw new ValidationException("Page size must be positive");
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    public static int offset(int from) {
+        if (from < 0) {
+            throw new ValidationException("Parameter from can't be negative");
+        }
+        return from;
+    }
+
+    public static KeysetCursor keyset(String cursor) {
+        return cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only tells that there is
+     * a next page.
+     */
+    public static <E, D> CursorPage<D> toPage(List<E> rows,
+                                              int size,
+                                              Function<E, D> mapper,
+                                              Function<E, LocalDateTime> timestamp,
+                                              Function<E, Long> id) {
+        List<E> page = rows.size() > size ? rows.subList(0, size) : rows;
+        List<D> content = page.stream()
+                .map(mapper)
+                .toList();
+        String nextCursor = null;
+        if (rows.size() > size && !page.isEmpty()) {
+            E last = page.getLast();
+            nextCursor = new KeysetCursor(timestamp.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPage<>(content, nextCursor);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+public record SyncPage<T>(List<T> content, SyncToken next) {
+
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(SyncToken.HEADER, next.encode());
+        return headers;
+    }
+}
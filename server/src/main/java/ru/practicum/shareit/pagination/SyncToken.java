@@ -0,0 +1,45 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque token for incremental polling: the client sends back the last token it got and receives only rows
+ * written after it. The token is the latest timestamp stored in the rows, but never later than
+ * {@link #OVERLAP} before the database clock, so rows of transactions that were still open during the read are
+ * sent again rather than missed; clients must upsert by id. Once the overlap has passed the token catches up
+ * with the last change, so quiet polls return nothing. Timestamps are taken on write, not on commit, so a
+ * transaction that stays open for longer than the overlap can still be missed.
+ */
+public record SyncToken(LocalDateTime since) {
+
+    public static final String HEADER = "X-Sync-Token";
+    public static final SyncToken INITIAL = new SyncToken(LocalDateTime.of(1970, 1, 1, 0, 0));
+    static final Duration OVERLAP = Duration.ofSeconds(10);
+
+    public static SyncToken upTo(LocalDateTime lastChange, LocalDateTime databaseNow) {
+        LocalDateTime settled = databaseNow.minus(OVERLAP);
+        return new SyncToken(lastChange.isBefore(settled) ? lastChange : settled);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(since).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new SyncToken(LocalDateTime.parse(raw));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid sync token " + token);
+        }
+    }
+}
@@ -3,7 +3,10 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.SyncPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -27,11 +30,14 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDto> getUserRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public ResponseEntity<List<ItemRequestDto>> getUserRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @RequestParam(required = false) String since) {
 
-        List<ItemRequestDto> requests = service.getOwnersRequests(userId);
-        log.info("Successfully get item {} request of user id={}", requests.size(), userId);
-        return requests;
+        SyncPage<ItemRequestDto> requests = service.getOwnersRequests(userId, since);
+        log.info("Successfully get item {} request of user id={}", requests.content().size(), userId);
+        return ResponseEntity.ok()
+                .headers(requests.headers())
+                .body(requests.content());
     }
 
     @GetMapping("/{requestId}")
@@ -44,10 +50,15 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getRequestsByUserId(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public ResponseEntity<List<ItemRequestDto>> getRequestsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                    @RequestParam(defaultValue = "0") int from,
+                                                                    @RequestParam(defaultValue = "10") int size,
+                                                                    @RequestParam(required = false) String cursor) {
 
-        List<ItemRequestDto> requests = service.getAllRequests(userId);
-        log.info("Successfully get all {} requests for user id={}", requests.size(), userId);
-        return requests;
+        CursorPage<ItemRequestDto> requests = service.getAllRequests(userId, from, size, cursor);
+        log.info("Successfully get {} requests for user id={}", requests.content().size(), userId);
+        return ResponseEntity.ok()
+                .headers(requests.headers())
+                .body(requests.content());
     }
 }
@@ -2,16 +2,20 @@ package ru.practicum.shareit.request;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.entity.ItemRequest;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public interface ItemRequestMapper {
 
     @Mapping(ignore = true, target = "items")
     ItemRequestDto toDto(ItemRequest request);
 
-    ItemRequestDto toDtoWithItems(ItemRequest request);
+    @Mapping(target = "items", source = "items")
+    ItemRequestDto toDtoWithItems(ItemRequest request, List<ItemCreateDto> items);
 
     @Mapping(target = "author.id", source = "userId")
     ItemRequest toItemRequest(ItemRequestDto dto, Long userId);
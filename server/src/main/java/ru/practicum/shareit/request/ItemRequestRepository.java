@@ -1,16 +1,51 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.entity.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    @EntityGraph(attributePaths = "items")
     List<ItemRequest> findAllByAuthorId(long authorId);
 
-    List<ItemRequest> findAllByAuthorIdNotOrderByCreated(long authorId);
+    @Query("""
+            SELECT r FROM ItemRequest r
+                WHERE r.author.id = :authorId
+                    AND (r.created > :since
+                        OR EXISTS (SELECT i.id FROM Item i WHERE i.itemRequest = r AND i.updated > :since))
+            """)
+    List<ItemRequest> findChangedSince(@Param("authorId") long authorId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT MAX(r.created) FROM ItemRequest r WHERE r.author.id = :authorId")
+    LocalDateTime findLastCreatedByAuthorId(@Param("authorId") long authorId);
+
+    @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+    LocalDateTime findDatabaseNow();
+
+    @Query(value = """
+            SELECT r.* FROM item_request r
+                WHERE r.author_id <> :authorId
+                ORDER BY r.created DESC, r.id DESC
+                LIMIT :size OFFSET :from
+            """, nativeQuery = true)
+    List<ItemRequest> findOthersNewestFirst(@Param("authorId") long authorId,
+                                            @Param("from") int from,
+                                            @Param("size") int size);
+
+    @Query(value = """
+            SELECT r.* FROM item_request r
+                WHERE r.author_id <> :authorId
+                    AND (r.created, r.id) < (:created, :id)
+                ORDER BY r.created DESC, r.id DESC
+                LIMIT :size
+            """, nativeQuery = true)
+    List<ItemRequest> findOthersCreatedBefore(@Param("authorId") long authorId,
+                                              @Param("created") LocalDateTime created,
+                                              @Param("id") long id,
+                                              @Param("size") int size);
 }
@@ -1,24 +1,40 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.Paging;
+import ru.practicum.shareit.pagination.SyncPage;
+import ru.practicum.shareit.pagination.SyncToken;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.entity.ItemRequest;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserIdRegistry;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ItemRequestService {
 
     private final ItemRequestRepository requestRepository;
-    private final UserRepository userRepository;
+    private final UserIdRegistry userIdRegistry;
     private final ItemRequestMapper mapper;
+    private final ItemRepository itemRepository;
 
     public ItemRequestDto createRequest(ItemRequestDto dto, long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdRegistry.exists(userId)) {
             throw new NotFoundException("There is no user with id=" + userId);
         }
 
@@ -27,31 +43,80 @@ public class ItemRequestService {
         return mapper.toDto(saved);
     }
 
-    public List<ItemRequestDto> getOwnersRequests(long userId) {
-        if (!userRepository.existsById(userId)) {
+    /**
+     * Without {@code since} returns all requests of the user with their answers. With a token from a previous
+     * call returns only requests created after it and requests that got new or changed answers, each with just
+     * those answers.
+     */
+    public SyncPage<ItemRequestDto> getOwnersRequests(long userId, String since) {
+        if (!userIdRegistry.exists(userId)) {
             throw new NotFoundException("There is no user with id=" + userId);
         }
-        List<ItemRequest> usersRequests = requestRepository.findAllByAuthorId(userId);
-        return usersRequests.stream()
-                .map(mapper::toDtoWithItems)
-                .toList();
+        SyncToken previous = since == null || since.isBlank() ? null : SyncToken.decode(since);
+        SyncToken next = nextSyncToken(userId, previous);
+        if (previous == null) {
+            return new SyncPage<>(toDtosWithItems(requestRepository.findAllByAuthorId(userId)), next);
+        }
+        LocalDateTime changedAfter = previous.since();
+        List<ItemRequest> changed = requestRepository.findChangedSince(userId, changedAfter);
+        return new SyncPage<>(toDtosWithItems(changed,
+                requestIds -> itemRepository.findAnswersChangedSince(requestIds, changedAfter)), next);
+    }
+
+    /**
+     * Reads the latest stored change before the rows, so nothing committed in between is skipped. The token never
+     * moves back behind the previous one, which is kept while the user has nothing stored yet.
+     */
+    private SyncToken nextSyncToken(long userId, @Nullable SyncToken previous) {
+        LocalDateTime lastChange = Stream.of(requestRepository.findLastCreatedByAuthorId(userId),
+                        itemRepository.findLastAnswerUpdateByRequestAuthorId(userId))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        if (lastChange == null) {
+            return previous != null ? previous : SyncToken.INITIAL;
+        }
+        SyncToken next = SyncToken.upTo(lastChange, requestRepository.findDatabaseNow());
+        return previous != null && previous.since().isAfter(next.since()) ? previous : next;
     }
 
     public ItemRequestDto getRequestById(long requestId, long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdRegistry.exists(userId)) {
             throw new NotFoundException("There is no user with id=" + userId);
         }
         ItemRequest request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("There is no request with id=" + requestId));
-        return mapper.toDtoWithItems(request);
+        return toDtosWithItems(List.of(request)).getFirst();
     }
 
-    public List<ItemRequestDto> getAllRequests(long userId) {
-        if (!userRepository.existsById(userId)) {
+    public CursorPage<ItemRequestDto> getAllRequests(long userId, int from, int size, String cursor) {
+        if (!userIdRegistry.exists(userId)) {
             throw new NotFoundException("There is no user with id=" + userId);
         }
-        return requestRepository.findAllByAuthorIdNotOrderByCreated(userId).stream()
-                .map(mapper::toDto)
+        KeysetCursor after = Paging.keyset(cursor);
+        int limit = Paging.limit(size);
+        List<ItemRequest> rows = after != null
+                ? requestRepository.findOthersCreatedBefore(userId, after.timestamp(), after.id(), limit + 1)
+                : requestRepository.findOthersNewestFirst(userId, Paging.offset(from), limit + 1);
+        return Paging.toPage(rows, limit, mapper::toDto, ItemRequest::getCreated, ItemRequest::getId);
+    }
+
+    private List<ItemRequestDto> toDtosWithItems(List<ItemRequest> requests) {
+        return toDtosWithItems(requests, itemRepository::findAnswersByRequestIds);
+    }
+
+    private List<ItemRequestDto> toDtosWithItems(List<ItemRequest> requests,
+                                                 Function<List<Long>, List<ItemCreateDto>> answersLoader) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .toList();
+        Map<Long, List<ItemCreateDto>> answers = answersLoader.apply(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemCreateDto::getRequestId));
+        return requests.stream()
+                .map(request -> mapper.toDtoWithItems(request, answers.getOrDefault(request.getId(), List.of())))
                 .toList();
     }
 }
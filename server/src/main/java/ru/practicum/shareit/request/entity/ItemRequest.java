@@ -17,7 +17,8 @@ import java.util.List;
 @EqualsAndHashCode(exclude = {"items", "author"})
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_request_id_seq")
+    @SequenceGenerator(name = "item_request_id_seq", sequenceName = "item_request_id_seq", allocationSize = 50)
     private Long id;
     private String description;
     @CreationTimestamp
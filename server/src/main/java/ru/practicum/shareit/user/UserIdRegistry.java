@@ -0,0 +1,110 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answers user-existence checks from an in-memory set of ids that is loaded on startup and updated after each
+ * committed create or delete. The set only sees writes of this JVM, so the server is deployed as a single
+ * instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserIdRegistry {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+
+    private final BitSet ids = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long lastId = 0;
+        int count = 0;
+        List<Long> batch;
+        do {
+            batch = userRepository.findIdsGreaterThan(lastId, Limit.of(LOAD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (Long id : batch) {
+                    if (isTracked(id)) {
+                        ids.set(id.intValue());
+                    }
+                    lastId = id;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            count += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loaded = true;
+        log.info("Loaded {} user ids", count);
+    }
+
+    public boolean exists(long id) {
+        if (id <= 0) {
+            return false;
+        }
+        if (!loaded || !isTracked(id)) {
+            return userRepository.existsById(id);
+        }
+        lock.readLock().lock();
+        try {
+            return ids.get((int) id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void register(long id) {
+        afterCommit(() -> set(id, true));
+    }
+
+    public void unregister(long id) {
+        afterCommit(() -> set(id, false));
+    }
+
+    private void set(long id, boolean present) {
+        if (!isTracked(id)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.set((int) id, present);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isTracked(long id) {
+        return id > 0 && id < Integer.MAX_VALUE;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
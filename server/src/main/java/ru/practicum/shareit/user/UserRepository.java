@@ -1,7 +1,15 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.user.entity.User;
 
+import java.util.List;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :id ORDER BY u.id")
+    List<Long> findIdsGreaterThan(@Param("id") long id, Limit limit);
 }
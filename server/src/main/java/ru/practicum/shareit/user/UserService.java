@@ -1,10 +1,15 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.EmailConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -18,6 +23,7 @@ public class UserService {
 
     private final UserRepository repository;
     private final UserMapper mapper;
+    private final UserIdRegistry userIdRegistry;
 
     public List<UserDto> getAllUsers() {
         return repository.findAll().stream()
@@ -25,11 +31,13 @@ public class UserService {
                 .toList();
     }
 
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDto getUserById(long id) {
         User user = repository.findById(id).orElseThrow(() -> new NotFoundException("There is no user with id=" + id));
         return mapper.toUserDto(user);
     }
 
+    @CachePut(cacheNames = CacheConfig.USERS, key = "#result.id")
     public UserDto saveUser(UserDto user) {
         User saved = null;
         try {
@@ -37,9 +45,12 @@ public class UserService {
         } catch (DataIntegrityViolationException e) {
             throw new EmailConflictException("Use with email " + user.getEmail() + " already exists");
         }
+        userIdRegistry.register(saved.getId());
         return mapper.toUserDto(saved);
     }
 
+    @Caching(put = @CachePut(cacheNames = CacheConfig.USERS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true))
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public UserDto updateUser(UserDto user, long id) {
         User toUpdate = repository.findById(id)
@@ -54,8 +65,13 @@ public class UserService {
         return mapper.toUserDto(saved);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true)
+    })
     public void deleteUserById(long id) {
         repository.deleteById(id);
+        userIdRegistry.unregister(id);
     }
 
     private static void updateNotNullFields(UserDto user, User toUpdate) {
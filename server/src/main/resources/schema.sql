@@ -1,3 +1,6 @@
+CREATE EXTENSION if not exists btree_gist;
+CREATE EXTENSION if not exists pg_trgm;
+
 CREATE table if not exists public.users (
 	id SERIAL PRIMARY KEY,
 	"name" varchar(128) NOT NULL,
@@ -45,3 +48,52 @@ CREATE TABLE if not exists public."comment" (
 	CONSTRAINT comments_items_fk FOREIGN KEY (item_id) REFERENCES public.item(id) ON DELETE CASCADE,
 	CONSTRAINT comments_users_fk FOREIGN KEY (author_id) REFERENCES public.users(id) ON DELETE CASCADE
 );
+
+CREATE TABLE if not exists public.outbox_event (
+	id BIGSERIAL PRIMARY KEY,
+	aggregate_type varchar(32) NOT NULL,
+	aggregate_id int8 NOT NULL,
+	event_type varchar(64) NOT NULL,
+	payload jsonb NOT NULL,
+	created timestamp without time zone NOT NULL
+);
+
+DO '
+BEGIN
+	IF NOT EXISTS (SELECT 1 FROM pg_constraint
+			WHERE conname = ''booking_no_overlap'' AND conrelid = ''public.booking''::regclass) THEN
+		IF EXISTS (SELECT 1 FROM public.booking a
+				JOIN public.booking b ON b.item_id = a.item_id AND b.id > a.id
+					AND tsrange(b.start_time, b.end_time) && tsrange(a.start_time, a.end_time)
+				WHERE a.status in (''WAITING'', ''APPROVED'') AND b.status in (''WAITING'', ''APPROVED'')) THEN
+			RAISE EXCEPTION ''Cannot add booking_no_overlap: overlapping WAITING/APPROVED bookings exist'';
+		END IF;
+		ALTER TABLE public.booking ADD CONSTRAINT booking_no_overlap
+			EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+			WHERE (status in (''WAITING'', ''APPROVED''));
+	END IF;
+END';
+
+ALTER TABLE public.item ADD COLUMN if not exists updated timestamp without time zone NOT NULL DEFAULT now();
+
+CREATE INDEX if not exists booking_booker_start_idx ON public.booking (booker_id, start_time DESC, id DESC);
+CREATE INDEX if not exists booking_item_start_idx ON public.booking (item_id, start_time, id);
+CREATE INDEX if not exists item_owner_idx ON public.item (owner_id);
+DROP INDEX if exists public.item_item_request_idx;
+CREATE INDEX if not exists item_item_request_updated_idx ON public.item (item_request_id, updated);
+CREATE INDEX if not exists item_request_created_idx ON public.item_request (created DESC, id DESC);
+CREATE INDEX if not exists item_request_author_created_idx ON public.item_request (author_id, created);
+CREATE INDEX if not exists comment_item_idx ON public."comment" (item_id, created);
+
+ALTER TABLE public.item ADD COLUMN if not exists search_vector tsvector
+	GENERATED ALWAYS AS (to_tsvector('simple', "name" || ' ' || description)) STORED;
+CREATE INDEX if not exists item_search_vector_idx ON public.item USING gin (search_vector) WHERE available;
+CREATE INDEX if not exists item_name_trgm_idx ON public.item USING gin ("name" gin_trgm_ops) WHERE available;
+CREATE INDEX if not exists item_description_trgm_idx ON public.item USING gin (description gin_trgm_ops) WHERE available;
+
+ALTER SEQUENCE if exists public.users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE if exists public.item_request_id_seq INCREMENT BY 50;
+ALTER SEQUENCE if exists public.item_id_seq INCREMENT BY 50;
+ALTER SEQUENCE if exists public.booking_id_seq INCREMENT BY 50;
+ALTER SEQUENCE if exists public.comment_id_seq INCREMENT BY 50;
+ALTER SEQUENCE if exists public.outbox_event_id_seq INCREMENT BY 50;
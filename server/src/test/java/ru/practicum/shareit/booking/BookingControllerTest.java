@@ -8,18 +8,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.event.BookingEventStream;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -140,15 +149,16 @@ class BookingControllerTest {
                 .status(BookingStatus.REJECTED)
                 .build();
 
-        when(service.getBookingsByBookerId(1L, State.REJECTED)).thenReturn(List.of(expected));
+        when(service.getBookingsByBookerId(1L, State.REJECTED, 0, 10, null))
+                .thenReturn(new CursorPage<>(List.of(expected), "next"));
 
-        String contentAsString = mvc.perform(get("/bookings")
+        MockHttpServletResponse response = mvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", "1")
                         .param("state", "REJECTED"))
                 .andReturn()
-                .getResponse()
-                .getContentAsString();
-        assertThat(contentAsString).isEqualTo(objectMapper.writeValueAsString(List.of(expected)));
+                .getResponse();
+        assertThat(response.getContentAsString()).isEqualTo(objectMapper.writeValueAsString(List.of(expected)));
+        assertThat(response.getHeader(CursorPage.NEXT_CURSOR_HEADER)).isEqualTo("next");
     }
 
     @Test
@@ -169,7 +179,8 @@ class BookingControllerTest {
                 .status(BookingStatus.REJECTED)
                 .build();
 
-        when(service.getBookingsByItemOwnerId(1L, State.REJECTED)).thenReturn(List.of(expected));
+        when(service.getBookingsByItemOwnerId(1L, State.REJECTED, 0, 10, null))
+                .thenReturn(new CursorPage<>(List.of(expected), null));
 
         String contentAsString = mvc.perform(get("/bookings/owner")
                         .param("state", "REJECTED")
@@ -179,4 +190,115 @@ class BookingControllerTest {
                 .getContentAsString();
         assertThat(contentAsString).isEqualTo(objectMapper.writeValueAsString(List.of(expected)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void createBookings() {
+        List<BookingCreateDto> batch = List.of(
+                BookingCreateDto.builder()
+                        .itemId(1L)
+                        .start(LocalDateTime.now().plusDays(1))
+                        .end(LocalDateTime.now().plusDays(2))
+                        .build(),
+                BookingCreateDto.builder()
+                        .itemId(2L)
+                        .start(LocalDateTime.now().plusDays(1))
+                        .end(LocalDateTime.now().plusDays(2))
+                        .build());
+        List<BookingBatchResultDto> results = List.of(
+                BookingBatchResultDto.builder()
+                        .index(0)
+                        .booking(BookingDto.builder()
+                                .id(1L)
+                                .status(BookingStatus.WAITING)
+                                .build())
+                        .build(),
+                BookingBatchResultDto.builder()
+                        .index(1)
+                        .error("Item is not available")
+                        .build());
+
+        when(service.createBookings(batch, 1L)).thenReturn(results);
+
+        String contentAsString = mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(contentAsString).isEqualTo(objectMapper.writeValueAsString(results));
+    }
+
+    @Test
+    @SneakyThrows
+    void approveBookings() {
+        List<BookingDto> approved = List.of(
+                BookingDto.builder()
+                        .id(1L)
+                        .status(BookingStatus.APPROVED)
+                        .build(),
+                BookingDto.builder()
+                        .id(2L)
+                        .status(BookingStatus.APPROVED)
+                        .build());
+
+        when(service.approveBookings(1L, List.of(1L, 2L), true)).thenReturn(approved);
+
+        String contentAsString = mvc.perform(patch("/bookings/batch")
+                        .param("approved", "true")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(contentAsString).isEqualTo(objectMapper.writeValueAsString(approved));
+    }
+
+    @Test
+    @SneakyThrows
+    void exportBookingsByOwner() {
+        when(service.exportBookingsByItemOwnerId(1L, State.WAITING))
+                .thenReturn(out -> out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult started = mvc.perform(get("/bookings/owner/export")
+                        .param("state", "WAITING")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    @SneakyThrows
+    void subscribeToBookingEvents() {
+        SseEmitter emitter = new SseEmitter();
+        when(service.subscribe(1L)).thenReturn(emitter);
+
+        MvcResult started = mvc.perform(get("/bookings/events")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event()
+                .name(BookingEventStream.BOOKING_STATUS)
+                .data(BookingDto.builder()
+                        .id(1L)
+                        .status(BookingStatus.APPROVED)
+                        .build()));
+        emitter.complete();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("event:booking-status\ndata:{\"id\":1,\"status\":\"APPROVED\"}\n\n"));
+    }
+}
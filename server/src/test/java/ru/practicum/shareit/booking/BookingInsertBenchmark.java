@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.DBIntegrationTestBase;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts 100k bookings through JPA once with JDBC batching switched off for the session and once with the
+ * configured batch size. Not picked up by the default surefire includes, run it explicitly:
+ * {@code mvn test -pl server -Dtest=BookingInsertBenchmark}.
+ */
+@Slf4j
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingInsertBenchmark extends DBIntegrationTestBase {
+
+    private static final int BOOKINGS = 100_000;
+    private static final int CHUNK = 1_000;
+
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+
+    @Test
+    void compareRowByRowAndBatchedInserts() {
+        Session session = entityManager.unwrap(Session.class);
+        LocalDateTime start = LocalDateTime.of(2040, 1, 1, 0, 0);
+
+        session.setJdbcBatchSize(1);
+        long rowByRow = insert(start);
+        session.setJdbcBatchSize(null);
+        long batched = insert(start.plusHours(BOOKINGS));
+
+        log.info("Inserted {} bookings: row by row={} ms, batched={} ms", BOOKINGS, rowByRow, batched);
+        assertThat(batched).isLessThan(rowByRow);
+    }
+
+    private long insert(LocalDateTime from) {
+        long begin = System.nanoTime();
+        for (int i = 0; i < BOOKINGS; i += CHUNK) {
+            List<Booking> chunk = new ArrayList<>(CHUNK);
+            for (int j = i; j < i + CHUNK; j++) {
+                chunk.add(Booking.builder()
+                        .start(from.plusHours(j))
+                        .end(from.plusHours(j + 1))
+                        .item(entityManager.getReference(Item.class, 1L))
+                        .booker(entityManager.getReference(User.class, 2L))
+                        .status(BookingStatus.WAITING)
+                        .build());
+            }
+            bookingRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return (System.nanoTime() - begin) / 1_000_000;
+    }
+}
@@ -1,19 +1,28 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.DBIntegrationTestBase;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -27,6 +36,7 @@ class BookingServiceIntegrationTest extends DBIntegrationTestBase {
 
     private final BookingService service;
     private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Test
     void createBooking_whenBookerIsOwner() {
@@ -101,6 +111,32 @@ class BookingServiceIntegrationTest extends DBIntegrationTestBase {
                 .hasMessage("item is already booked for this time");
     }
 
+    @Test
+    void createBooking_whenTouchingOtherBookingEnd() {
+        long itemId = 1L;
+        long bookerId = 3L;
+        LocalDateTime otherEnd = LocalDateTime.of(2035, 5, 27, 19, 0);
+        BookingCreateDto dto = BookingCreateDto.builder()
+                .itemId(itemId)
+                .start(otherEnd)
+                .end(otherEnd.plusDays(1))
+                .build();
+
+        BookingDto booking = service.createBooking(dto, bookerId);
+
+        assertThat(booking.getId()).isNotNull();
+    }
+
+    @Test
+    void bookingTable_rejectsOverlappingActiveBookings() {
+        assertThatThrownBy(() -> entityManager.createNativeQuery("""
+                        INSERT INTO booking (start_time, end_time, status, item_id, booker_id)
+                        VALUES ('2035-05-26 20:00:00', '2035-05-26 21:00:00', 'WAITING', 1, 3)
+                        """)
+                .executeUpdate())
+                .isInstanceOf(PersistenceException.class);
+    }
+
     @Test
     void createBooking_whenOk() {
         long itemId = 1L;
@@ -157,6 +193,19 @@ class BookingServiceIntegrationTest extends DBIntegrationTestBase {
                 .hasMessage("Booking is already rejected");
     }
 
+    @Test
+    void approveBooking_whenRejectedBookingOverlapsApprovedOne() {
+        entityManager.createNativeQuery("""
+                        INSERT INTO booking (start_time, end_time, status, item_id, booker_id)
+                        VALUES ('2024-05-26 20:00:00', '2024-05-26 21:00:00', 'APPROVED', 4, 2)
+                        """)
+                .executeUpdate();
+
+        assertThatThrownBy(() -> service.approveBooking(3L, 5L, true))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("item is already booked for this time");
+    }
+
     @Test
     void approveBooking_whenApproved() {
         long bookingId = 1L;
@@ -222,15 +271,15 @@ class BookingServiceIntegrationTest extends DBIntegrationTestBase {
         long bookerId = 1L;
         State state = State.ALL;
 
-        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(2);
 
         bookerId = 2L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(2);
 
         bookerId = 3L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(1);
     }
 
@@ -239,15 +288,15 @@ class BookingServiceIntegrationTest extends DBIntegrationTestBase {
         long bookerId = 1L;
         State state = State.PAST;
 
-        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(2);
 
         bookerId = 2L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(1);
 
         bookerId = 3L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(1);
     }
 
@@ -256,15 +305,15 @@ class BookingServiceIntegrationTest extends DBIntegrationTestBase {
         long bookerId = 1L;
         State state = State.FUTURE;
 
-        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(0);
 
         bookerId = 2L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(1);
 
         bookerId = 3L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(0);
     }
 
@@ -273,15 +322,15 @@ class BookingServiceIntegrationTest extends DBIntegrationTestBase {
         long bookerId = 1L;
         State state = State.WAITING;
 
-        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(0);
 
         bookerId = 2L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(0);
 
         bookerId = 3L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(1);
     }
 
@@ -290,23 +339,42 @@ class BookingServiceIntegrationTest extends DBIntegrationTestBase {
         long bookerId = 1L;
         State state = State.REJECTED;
 
-        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        List<BookingDto> bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(1);
 
         bookerId = 2L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(0);
 
         bookerId = 3L;
-        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state);
+        bookingsByBookerId = service.getBookingsByBookerId(bookerId, state, 0, 10, null).content();
         assertThat(bookingsByBookerId).hasSize(0);
     }
 
+    @Test
+    void getBookingsByBookerId_whenPaged() {
+        long bookerId = 1L;
+
+        CursorPage<BookingDto> firstPage = service.getBookingsByBookerId(bookerId, State.ALL, 0, 1, null);
+        assertThat(firstPage.content()).hasSize(1);
+        assertThat(firstPage.content().getFirst().getId()).isEqualTo(5L);
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        CursorPage<BookingDto> secondPage = service.getBookingsByBookerId(bookerId, State.ALL, 0, 1,
+                firstPage.nextCursor());
+        assertThat(secondPage.content()).hasSize(1);
+        assertThat(secondPage.content().getFirst().getId()).isEqualTo(4L);
+        assertThat(secondPage.nextCursor()).isNull();
+
+        CursorPage<BookingDto> byOffset = service.getBookingsByBookerId(bookerId, State.ALL, 1, 1, null);
+        assertThat(byOffset.content()).extracting(BookingDto::getId).containsExactly(4L);
+    }
+
     @Test
     void getBookingsByItemOwnerId_whenUserDontHaveAbyItems() {
         long ownerId = 4L;
 
-        assertThatThrownBy(() -> service.getBookingsByItemOwnerId(ownerId, State.ALL))
+        assertThatThrownBy(() -> service.getBookingsByItemOwnerId(ownerId, State.ALL, 0, 10, null))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessage("User don't have any items");
     }
@@ -315,15 +383,146 @@ class BookingServiceIntegrationTest extends DBIntegrationTestBase {
     void getBookingsByItemOwnerId_whenOk() {
         long ownerId = 1L;
 
-        List<BookingDto> bookingsByItemOwnerId = service.getBookingsByItemOwnerId(ownerId, State.ALL);
+        List<BookingDto> bookingsByItemOwnerId = service.getBookingsByItemOwnerId(ownerId, State.ALL, 0, 10, null).content();
         assertThat(bookingsByItemOwnerId).hasSize(3);
 
         ownerId = 2L;
-        bookingsByItemOwnerId = service.getBookingsByItemOwnerId(ownerId, State.ALL);
+        bookingsByItemOwnerId = service.getBookingsByItemOwnerId(ownerId, State.ALL, 0, 10, null).content();
         assertThat(bookingsByItemOwnerId).hasSize(0);
 
         ownerId = 3L;
-        bookingsByItemOwnerId = service.getBookingsByItemOwnerId(ownerId, State.ALL);
+        bookingsByItemOwnerId = service.getBookingsByItemOwnerId(ownerId, State.ALL, 0, 10, null).content();
         assertThat(bookingsByItemOwnerId).hasSize(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsByItemOwnerId_whenFilteredByStateAndPaged() {
+        long ownerId = 1L;
+
+        List<BookingDto> future = service.getBookingsByItemOwnerId(ownerId, State.FUTURE, 0, 10, null).content();
+        assertThat(future).extracting(BookingDto::getId).containsExactly(2L);
+
+        List<BookingDto> past = service.getBookingsByItemOwnerId(ownerId, State.PAST, 0, 10, null).content();
+        assertThat(past).extracting(BookingDto::getId).containsExactly(3L, 1L);
+
+        CursorPage<BookingDto> firstPage = service.getBookingsByItemOwnerId(ownerId, State.ALL, 0, 2, null);
+        assertThat(firstPage.content()).extracting(BookingDto::getId).containsExactly(2L, 3L);
+
+        CursorPage<BookingDto> secondPage = service.getBookingsByItemOwnerId(ownerId, State.ALL, 0, 2,
+                firstPage.nextCursor());
+        assertThat(secondPage.content()).extracting(BookingDto::getId).containsExactly(1L);
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void createBookings_insertsValidEntriesAndReportsRejectedOnes() {
+        long bookerId = 2L;
+        LocalDateTime start = LocalDateTime.of(2036, 1, 1, 10, 0);
+        List<BookingCreateDto> dtos = List.of(
+                new BookingCreateDto(1L, start, start.plusDays(1)),
+                new BookingCreateDto(1L, start.plusHours(12), start.plusDays(2)),
+                new BookingCreateDto(3L, start, start.plusDays(1)),
+                new BookingCreateDto(1L, LocalDateTime.of(2035, 5, 26, 20, 0), LocalDateTime.of(2035, 5, 26, 21, 0)),
+                new BookingCreateDto(5L, start, start.plusDays(1)));
+
+        List<BookingBatchResultDto> results = service.createBookings(dtos, bookerId);
+
+        assertThat(results).extracting(BookingBatchResultDto::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(BookingBatchResultDto::getError).containsExactly(
+                null,
+                "item is already booked for this time",
+                "Can't book your own item",
+                "item is already booked for this time",
+                null);
+        List<Long> ids = List.of(results.get(0).getBooking().getId(), results.get(4).getBooking().getId());
+        List<Booking> saved = entityManager.createQuery("select b from Booking b where b.id in :ids order by b.id",
+                        Booking.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        assertThat(saved).extracting(booking -> booking.getItem().getId()).containsExactly(1L, 5L);
+        assertThat(saved).extracting(Booking::getStatus).containsOnly(BookingStatus.WAITING);
+    }
+
+    @Test
+    void approveBookings_whenOk() {
+        LocalDateTime start = LocalDateTime.of(2040, 1, 1, 12, 0);
+        long waitingId = service.createBooking(new BookingCreateDto(2L, start, start.plusDays(1)), 3L).getId();
+
+        List<BookingDto> approved = service.approveBookings(1L, List.of(1L, waitingId), true);
+
+        assertThat(approved).extracting(BookingDto::getId).containsExactly(1L, waitingId);
+        assertThat(approved).extracting(BookingDto::getStatus).containsOnly(BookingStatus.APPROVED);
+        entityManager.clear();
+        assertThat(entityManager.find(Booking.class, 1L).getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(entityManager.find(Booking.class, waitingId).getStatus()).isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    void approveBookings_whenOneBookingIsAlreadyApproved() {
+        assertThatThrownBy(() -> service.approveBookings(1L, List.of(1L, 3L), true))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Booking id=3 is already approved");
+        assertThat(entityManager.find(Booking.class, 1L).getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void approveBookings_whenOneBookingIsNotOwned() {
+        assertThatThrownBy(() -> service.approveBookings(1L, List.of(1L, 4L), false))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("User don't own item to approve booking id=4");
+        assertThat(entityManager.find(Booking.class, 1L).getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    @SneakyThrows
+    void exportBookingsByItemOwnerId_writesOneJsonLinePerBookingNewestFirst() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportBookingsByItemOwnerId(1L, State.ALL).writeTo(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(3);
+        List<Long> ids = lines.stream()
+                .map(line -> readBooking(line).getId())
+                .toList();
+        assertThat(ids).containsExactly(2L, 3L, 1L);
+        assertThat(readBooking(lines.getFirst()).getItem().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void exportBookingsByBookerId_whenUserNotFound() {
+        assertThatThrownBy(() -> service.exportBookingsByBookerId(100L, State.ALL))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("There is no user with id=100");
+    }
+
+    @SneakyThrows
+    private BookingDto readBooking(String line) {
+        return objectMapper.readValue(line, BookingDto.class);
+    }
+
+    @Test
+    void getBookingsByItemOwnerId_readsRowsWithoutLoadingEntities() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            entityManager.clear();
+            statistics.clear();
+
+            List<BookingDto> bookings = service.getBookingsByItemOwnerId(1L, State.ALL, 0, 10, null).content();
+
+            assertThat(bookings).extracting(BookingDto::getId).containsExactly(2L, 3L, 1L);
+            assertThat(bookings.getFirst().getItem())
+                    .hasFieldOrPropertyWithValue("id", 1L)
+                    .hasFieldOrPropertyWithValue("name", "item1");
+            assertThat(bookings.getFirst().getBooker())
+                    .hasFieldOrPropertyWithValue("id", 2L)
+                    .hasFieldOrPropertyWithValue("email", "email2");
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -5,19 +5,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.event.BookingCreatedEvent;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.entity.Item;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.entity.User;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -30,7 +37,7 @@ class BookingServiceTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserIdRegistry userIdRegistry;
 
     @Mock
     private ItemRepository itemRepository;
@@ -38,6 +45,9 @@ class BookingServiceTest {
     @Mock
     private BookingMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -95,13 +105,88 @@ class BookingServiceTest {
                 .end(LocalDateTime.now().plusDays(2))
                 .build();
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userIdRegistry.exists(1L)).thenReturn(true);
 
         assertThatThrownBy(() -> bookingService.createBooking(dto, 1L))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Item is not available");
     }
 
+    @Test
+    void createBooking_shouldThrowWhenOverlapping() {
+        Item item = Item.builder()
+                .id(1L)
+                .owner(User.builder()
+                        .id(2L)
+                        .build())
+                .available(true)
+                .build();
+        BookingCreateDto dto = BookingCreateDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(userIdRegistry.exists(1L)).thenReturn(true);
+        when(bookingRepository.existsOverlapping(1L, dto.getStart(), dto.getEnd())).thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.createBooking(dto, 1L))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("item is already booked for this time");
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createBooking_shouldThrowWhenOverlapConstraintViolated() {
+        Item item = Item.builder()
+                .id(1L)
+                .owner(User.builder()
+                        .id(2L)
+                        .build())
+                .available(true)
+                .build();
+        BookingCreateDto dto = BookingCreateDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(userIdRegistry.exists(1L)).thenReturn(true);
+        when(bookingRepository.existsOverlapping(1L, dto.getStart(), dto.getEnd())).thenReturn(false);
+        when(bookingRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("insert failed",
+                new SQLException("conflicting key value violates exclusion constraint \"booking_no_overlap\"",
+                        "23P01")));
+
+        assertThatThrownBy(() -> bookingService.createBooking(dto, 1L))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("item is already booked for this time");
+    }
+
+    @Test
+    void createBooking_shouldRethrowOtherIntegrityViolations() {
+        Item item = Item.builder()
+                .id(1L)
+                .owner(User.builder()
+                        .id(2L)
+                        .build())
+                .available(true)
+                .build();
+        BookingCreateDto dto = BookingCreateDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("insert failed",
+                new SQLException("insert or update on table \"booking\" violates foreign key constraint", "23503"));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(userIdRegistry.exists(1L)).thenReturn(true);
+        when(bookingRepository.existsOverlapping(1L, dto.getStart(), dto.getEnd())).thenReturn(false);
+        when(bookingRepository.saveAndFlush(any())).thenThrow(violation);
+
+        assertThatThrownBy(() -> bookingService.createBooking(dto, 1L))
+                .isSameAs(violation);
+    }
+
     @Test
     void createBooking_shouldThrowWhenDatesAreInvalid() {
         BookingCreateDto dto = BookingCreateDto.builder()
@@ -145,18 +230,22 @@ class BookingServiceTest {
                 .build();
         Booking booking = Booking.builder()
                 .item(item)
+                .booker(User.builder()
+                        .id(2L)
+                        .build())
                 .status(BookingStatus.WAITING)
                 .build();
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
         when(mapper.toBookingDto(any())).thenReturn(new BookingDto());
 
         BookingDto result = bookingService.approveBooking(1L, 1L, true);
 
         assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED);
         assertThat(result).isNotNull();
-        verify(bookingRepository).save(booking);
+        verify(bookingRepository).saveAndFlush(booking);
+        verify(events).publishEvent(new BookingStatusChangedEvent(2L, result));
     }
 
     @Test
@@ -181,12 +270,105 @@ class BookingServiceTest {
 
     @Test
     void getBookingsByItemOwnerId_shouldThrowWhenNoItems() {
-        when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRepository.findByOwnerId(anyLong())).thenReturn(List.of());
+        when(userIdRegistry.exists(anyLong())).thenReturn(true);
+        when(itemRepository.existsByOwnerId(anyLong())).thenReturn(false);
 
-        assertThatThrownBy(() -> bookingService.getBookingsByItemOwnerId(1L, State.ALL))
+        assertThatThrownBy(() -> bookingService.getBookingsByItemOwnerId(1L, State.ALL, 0, 10, null))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("User don't have any items");
     }
 
-}
\ No newline at end of file
+    @Test
+    void createBookings_shouldRejectEntriesOverlappingEarlierEntriesOfTheBatch() {
+        Item item = Item.builder()
+                .id(1L)
+                .name("item")
+                .owner(User.builder()
+                        .id(2L)
+                        .build())
+                .available(true)
+                .build();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingCreateDto first = new BookingCreateDto(1L, start, start.plusDays(1));
+        BookingCreateDto overlapping = new BookingCreateDto(1L, start.plusHours(1), start.plusDays(2));
+        BookingCreateDto unknownItem = new BookingCreateDto(9L, start, start.plusDays(1));
+        Booking booking = Booking.builder()
+                .item(item)
+                .start(first.getStart())
+                .end(first.getEnd())
+                .build();
+        BookingDto created = BookingDto.builder()
+                .id(10L)
+                .build();
+        when(userIdRegistry.exists(1L)).thenReturn(true);
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+        when(bookingRepository.findOverlapping(any(), any(), any())).thenReturn(List.of());
+        when(mapper.toBooking(first, 1L, "item")).thenReturn(booking);
+        when(mapper.toBookingDto(booking)).thenReturn(created);
+
+        List<BookingBatchResultDto> results = bookingService.createBookings(List.of(first, overlapping, unknownItem),
+                1L);
+
+        assertThat(results).containsExactly(
+                new BookingBatchResultDto(0, created, null),
+                new BookingBatchResultDto(1, null, "item is already booked for this time"),
+                new BookingBatchResultDto(2, null, "There is no item with id=9"));
+        verify(bookingRepository).saveAll(List.of(booking));
+        verify(events).publishEvent(new BookingCreatedEvent(2L, created));
+    }
+
+    @Test
+    void createBookings_shouldThrowWhenBookerNotFound() {
+        when(userIdRegistry.exists(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> bookingService.createBookings(List.of(), 1L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("There is no user with id=1");
+        verifyNoInteractions(bookingRepository, itemRepository);
+    }
+
+    @Test
+    void approveBookings_shouldUpdateAllStatusesWithOneStatement() {
+        Item item = Item.builder()
+                .id(1L)
+                .owner(User.builder()
+                        .id(2L)
+                        .build())
+                .build();
+        User booker = User.builder()
+                .id(3L)
+                .build();
+        Booking first = Booking.builder()
+                .id(1L)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build();
+        Booking second = Booking.builder()
+                .id(2L)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build();
+        when(bookingRepository.findAllWithItemAndBooker(any())).thenReturn(List.of(second, first));
+        when(mapper.toBookingDto(first)).thenReturn(BookingDto.builder().id(1L).build());
+        when(mapper.toBookingDto(second)).thenReturn(BookingDto.builder().id(2L).build());
+
+        List<BookingDto> rejected = bookingService.approveBookings(2L, List.of(1L, 2L, 1L), false);
+
+        assertThat(rejected).extracting(BookingDto::getId).containsExactly(1L, 2L);
+        assertThat(rejected).extracting(BookingDto::getStatus).containsOnly(BookingStatus.REJECTED);
+        verify(bookingRepository).updateStatus(Set.of(1L, 2L), BookingStatus.REJECTED);
+        verify(events, times(2)).publishEvent(any(BookingStatusChangedEvent.class));
+    }
+
+    @Test
+    void approveBookings_shouldThrowWhenBookingNotFound() {
+        when(bookingRepository.findAllWithItemAndBooker(any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> bookingService.approveBookings(2L, List.of(7L), true))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("There is no booking with id=7");
+        verify(bookingRepository, never()).updateStatus(any(), any());
+    }
+}
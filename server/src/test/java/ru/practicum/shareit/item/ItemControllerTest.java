@@ -10,14 +10,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.catalog.CatalogFormat;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,6 +37,9 @@ class ItemControllerTest {
     @MockBean
     private final ItemService service;
 
+    @MockBean
+    private final ItemImportService importService;
+
     @Test
     @SneakyThrows
     void createItem() {
@@ -146,7 +153,7 @@ class ItemControllerTest {
                 .build();
         List<ItemDto> expectedList = List.of(expected);
         String text = "text";
-        when(service.searchByText(text, userId)).thenReturn(expectedList);
+        when(service.searchByText(text, userId, 0, 10)).thenReturn(expectedList);
 
         String contentAsString = mvc.perform(get("/items/search")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -185,4 +192,26 @@ class ItemControllerTest {
 
         assertThat(contentAsString).isEqualTo(objectMapper.writeValueAsString(expected));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void importItems() {
+        ItemImportResultDto expected = ItemImportResultDto.builder()
+                .imported(1)
+                .rejected(1)
+                .errors(List.of(new ItemImportResultDto.RowError(3, "name must not be blank")))
+                .build();
+        when(importService.importItems(any(), eq(CatalogFormat.CSV), eq(1L))).thenReturn(expected);
+
+        String contentAsString = mvc.perform(post("/items/import")
+                        .contentType("text/csv")
+                        .content("name,description,available\nname,description,true\n,description,true\n")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(contentAsString).isEqualTo(objectMapper.writeValueAsString(expected));
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.DBIntegrationTestBase;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.catalog.CatalogFormat;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxRepository;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemImportServiceIntegrationTest extends DBIntegrationTestBase {
+
+    private final ItemImportService service;
+    private final EntityManager entityManager;
+    private final OutboxRepository outboxRepository;
+
+    @Test
+    void importItems_insertsValidRowsAndReportsRejectedOnes() {
+        String csv = """
+                name,description,available,requestId
+                imported drill,cordless,true,1
+                ,no name,true,
+                imported saw,sharp,false,
+                imported ladder,tall,true,100
+                """;
+
+        ItemImportResultDto result = service.importItems(new StringReader(csv), CatalogFormat.CSV, 4L);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getErrors()).containsExactly(
+                new ItemImportResultDto.RowError(3, "name must not be blank"),
+                new ItemImportResultDto.RowError(5, "There is no item request with id=100"));
+        List<Item> imported = entityManager.createQuery(
+                        "select i from Item i where i.owner.id = 4 order by i.name", Item.class)
+                .getResultList();
+        assertThat(imported).extracting(Item::getName).containsExactly("imported drill", "imported saw");
+        assertThat(imported.getFirst().getItemRequest().getId()).isEqualTo(1L);
+        assertThat(outboxRepository.findAll())
+                .filteredOn(event -> event.getEventType().equals("ItemCreatedEvent"))
+                .extracting(OutboxEvent::getAggregateId)
+                .containsExactlyInAnyOrderElementsOf(imported.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void importItems_spansSeveralChunks() {
+        StringBuilder jsonl = new StringBuilder();
+        int rows = ItemImportService.CHUNK_SIZE * 2 + 1;
+        for (int i = 0; i < rows; i++) {
+            jsonl.append("{\"name\":\"bulk ").append(i).append("\",\"description\":\"bulk\",\"available\":true}\n");
+        }
+
+        ItemImportResultDto result = service.importItems(new StringReader(jsonl.toString()),
+                CatalogFormat.JSON_LINES, 4L);
+
+        assertThat(result.getImported()).isEqualTo(rows);
+        assertThat(result.getRejected()).isZero();
+        Long stored = entityManager.createQuery("select count(i) from Item i where i.owner.id = 4", Long.class)
+                .getSingleResult();
+        assertThat(stored).isEqualTo(rows);
+    }
+
+    @Test
+    void importItems_whenOwnerNotFound() {
+        assertThatThrownBy(() -> service.importItems(new StringReader(""), CatalogFormat.JSON_LINES, 100L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("There is no user with id=100");
+    }
+}
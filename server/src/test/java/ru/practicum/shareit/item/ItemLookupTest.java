@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.entity.User;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemLookupTest {
+
+    @InjectMocks
+    ItemLookup lookup;
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @Mock
+    ItemMapper mapper;
+
+    @Test
+    void getItem_whenItemIsNotFound() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> lookup.getItem(1L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("There is no item with id=1");
+    }
+
+    @Test
+    void getItem_whenFound() {
+        Item item = Item.builder()
+                .id(1L)
+                .owner(User.builder()
+                        .id(2L)
+                        .build())
+                .build();
+        ItemDto dto = new ItemDto();
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(mapper.toItemDto(item)).thenReturn(dto);
+
+        ItemLookup.CachedItem actual = lookup.getItem(1L);
+
+        assertThat(actual.ownerId()).isEqualTo(2L);
+        assertThat(actual.item()).isSameAs(dto);
+    }
+}
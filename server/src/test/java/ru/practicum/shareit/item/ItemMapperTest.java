@@ -3,7 +3,6 @@ package ru.practicum.shareit.item;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.booking.BookingMapperImpl;
-import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -12,7 +11,6 @@ import ru.practicum.shareit.request.entity.ItemRequest;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -41,12 +39,6 @@ class ItemMapperTest {
         assertThat(item).isNull();
     }
 
-    @Test
-    void toItemDtoForOwner() {
-        ItemDto itemDtoForOwner = mapper.toItemDtoForOwner(null);
-        assertThat(itemDtoForOwner).isNull();
-    }
-
     @Test
     void toItem() {
         Item item = mapper.toItem(null, null);
@@ -54,42 +46,50 @@ class ItemMapperTest {
     }
 
     @Test
-    void getLastBooking() {
-        Item build = Item.builder()
-                .bookings(Collections.emptyList())
-                .build();
-        BookingDto lastBooking = mapper.getLastBooking(build);
-        assertThat(lastBooking).isNull();
+    void toItemDtoForOwner_whenAllSourcesNull_returnNull() {
+        ItemDto itemDtoForOwner = mapper.toItemDtoForOwner(null, null, null, null);
+        assertThat(itemDtoForOwner).isNull();
     }
 
     @Test
-    void getLastBooking_notEmptyBookings_returnNotNull() {
-        Item build = Item.builder()
-                .bookings(List.of(Booking.builder()
-                        .start(LocalDateTime.now().minusMinutes(1L))
-                        .build()))
+    void toItemDtoForOwner_whenBookingsPresent_mapsBookingsWithoutItem() {
+        Item item = Item.builder()
+                .id(1L)
+                .name("name")
                 .build();
-        BookingDto lastBooking = mapper.getLastBooking(build);
-        assertThat(lastBooking).isNotNull();
-    }
-
-    @Test
-    void getNextBooking() {
-        Item build = Item.builder()
-                .bookings(Collections.emptyList())
+        Booking last = Booking.builder()
+                .id(2L)
+                .item(item)
+                .start(LocalDateTime.now().minusDays(1))
                 .build();
-        BookingDto nextBooking = mapper.getNextBooking(build);
-        assertThat(nextBooking).isNull();
+        Booking next = Booking.builder()
+                .id(3L)
+                .item(item)
+                .start(LocalDateTime.now().plusDays(1))
+                .build();
+
+        ItemDto dto = mapper.toItemDtoForOwner(item, last, next, Collections.emptyList());
+
+        assertThat(dto).hasFieldOrPropertyWithValue("id", 1L)
+                .hasFieldOrPropertyWithValue("name", "name");
+        assertThat(dto.getComments()).isEmpty();
+        assertThat(dto.getLastBooking())
+                .hasFieldOrPropertyWithValue("id", 2L)
+                .hasFieldOrPropertyWithValue("item", null);
+        assertThat(dto.getNextBooking())
+                .hasFieldOrPropertyWithValue("id", 3L)
+                .hasFieldOrPropertyWithValue("item", null);
     }
 
     @Test
-    void getNextBooking_notEmptyBookings_returnNull() {
-        Item build = Item.builder()
-                .bookings(List.of(Booking.builder()
-                        .start(LocalDateTime.now().minusMinutes(1L))
-                        .build()))
+    void toItemDtoForOwner_whenNoBookings_leavesBookingsNull() {
+        Item item = Item.builder()
+                .id(1L)
                 .build();
-        BookingDto nextBooking = mapper.getNextBooking(build);
-        assertThat(nextBooking).isNull();
+
+        ItemDto dto = mapper.toItemDtoForOwner(item, null, null, Collections.emptyList());
+
+        assertThat(dto.getLastBooking()).isNull();
+        assertThat(dto.getNextBooking()).isNull();
     }
-}
\ No newline at end of file
+}
@@ -3,17 +3,22 @@ package ru.practicum.shareit.item;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.DBIntegrationTestBase;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.entity.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -131,11 +136,31 @@ class ItemServiceIntegratedTest extends DBIntegrationTestBase {
                 .hasFieldOrPropertyWithValue("lastBooking", null);
     }
 
+    @Test
+    void getItemByUserId_whenItemsGrow_statementCountIsConstant() {
+        long ownerId = 4L;
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            addItemsWithHistory(ownerId, 2);
+            long fewItemsStatements = countStatementsOfOwnerListing(statistics, ownerId, 2);
+
+            addItemsWithHistory(ownerId, 20);
+            long manyItemsStatements = countStatementsOfOwnerListing(statistics, ownerId, 22);
+
+            assertThat(manyItemsStatements).isEqualTo(fewItemsStatements);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
         //8 запросов, надо поиграться с графами
     void searchByText() {
         String text = "target";
-        List<ItemDto> items = service.searchByText(text, 1L);
+        List<ItemDto> items = service.searchByText(text, 1L, 0, 10);
 
         assertThat(items).hasSize(2);
         assertThat(items.getFirst().getName().contains(text) ||
@@ -144,6 +169,29 @@ class ItemServiceIntegratedTest extends DBIntegrationTestBase {
                    items.getLast().getDescription().contains(text)).isTrue();
     }
 
+    @Test
+    void searchByText_whenPagedAndRanked() {
+        List<ItemDto> firstPage = service.searchByText("TARGET", 1L, 0, 1);
+        List<ItemDto> secondPage = service.searchByText("TARGET", 1L, 1, 1);
+
+        assertThat(firstPage).extracting(ItemDto::getId).containsExactly(5L);
+        assertThat(secondPage).extracting(ItemDto::getId).containsExactly(6L);
+    }
+
+    @Test
+    void searchByText_whenSubstringInsideWord() {
+        List<ItemDto> items = service.searchByText("arge", 1L, 0, 10);
+
+        assertThat(items).extracting(ItemDto::getId).containsExactlyInAnyOrder(5L, 6L);
+    }
+
+    @Test
+    void searchByText_whenItemIsNotAvailable() {
+        List<ItemDto> items = service.searchByText("item4", 1L, 0, 10);
+
+        assertThat(items).isEmpty();
+    }
+
     @Test
     void createComment_whenCommentatorHasNotBookedItem() {
         CommentDto dto = CommentDto.builder()
@@ -176,4 +224,54 @@ class ItemServiceIntegratedTest extends DBIntegrationTestBase {
         assertThat(saved.getItem().getId()).isEqualTo(itemId);
         assertThat(saved.getAuthor().getId()).isEqualTo(userId);
     }
-}
\ No newline at end of file
+
+    private long countStatementsOfOwnerListing(Statistics statistics, long ownerId, int expectedItems) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ItemDto> items = service.getItemByUserId(ownerId);
+
+        assertThat(items).hasSize(expectedItems)
+                .allSatisfy(item -> {
+                    assertThat(item.getLastBooking()).isNotNull();
+                    assertThat(item.getNextBooking()).isNotNull();
+                    assertThat(item.getComments()).hasSize(1);
+                });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addItemsWithHistory(long ownerId, int count) {
+        User owner = entityManager.getReference(User.class, ownerId);
+        User booker = entityManager.getReference(User.class, 1L);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = Item.builder()
+                    .name("bulk item")
+                    .description("bulk desc")
+                    .available(true)
+                    .owner(owner)
+                    .build();
+            entityManager.persist(item);
+            entityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(now.minusDays(2))
+                    .end(now.minusDays(1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+            entityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2))
+                    .status(BookingStatus.WAITING)
+                    .build());
+            Comment comment = new Comment();
+            comment.setText("bulk comment");
+            comment.setAuthor(booker);
+            comment.setItem(item);
+            entityManager.persist(comment);
+        }
+    }
+}
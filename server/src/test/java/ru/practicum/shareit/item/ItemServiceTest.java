@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -15,6 +16,10 @@ import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.event.ItemCreatedEvent;
+import ru.practicum.shareit.item.event.ItemUpdatedEvent;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.entity.User;
 
@@ -41,6 +46,9 @@ class ItemServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    UserIdRegistry userIdRegistry;
+
     @Mock
     CommentRepository commentRepository;
 
@@ -50,6 +58,15 @@ class ItemServiceTest {
     @Mock
     ItemMapper mapper;
 
+    @Mock
+    ItemSearchEngine searchEngine;
+
+    @Mock
+    ItemLookup itemLookup;
+
+    @Mock
+    ApplicationEventPublisher events;
+
     @Test
     void createItem_whenUserExists() {
         long userId = 1L;
@@ -57,7 +74,7 @@ class ItemServiceTest {
         Item toSave = new Item();
         Item expected = new Item();
         ItemDto expectedDto = new ItemDto();
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userIdRegistry.exists(userId)).thenReturn(true);
         when(itemRepository.save(toSave)).thenReturn(expected);
         when(mapper.toItemDto(expected)).thenReturn(expectedDto);
         when(mapper.toItem(dtoToSave, userId)).thenReturn(toSave);
@@ -66,10 +83,11 @@ class ItemServiceTest {
 
         assertThat(actual).isSameAs(expectedDto);
 
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userIdRegistry, times(1)).exists(userId);
         verify(mapper, times(1)).toItem(dtoToSave, userId);
         verify(mapper, times(1)).toItemDto(expected);
         verify(itemRepository, times(1)).save(toSave);
+        verify(events).publishEvent(new ItemCreatedEvent(userId, expectedDto));
     }
 
     @Test
@@ -77,13 +95,13 @@ class ItemServiceTest {
         long userId = 1L;
         ItemCreateDto dtoToSave = new ItemCreateDto();
         ItemDto expectedDto = new ItemDto();
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userIdRegistry.exists(userId)).thenReturn(false);
 
         assertThatThrownBy(() -> service.createItem(dtoToSave, userId))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessage("There is no user with id=1");
 
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userIdRegistry, times(1)).exists(userId);
     }
 
     @Test
@@ -132,6 +150,7 @@ class ItemServiceTest {
         ItemDto actual = service.update(itemDto, itemId, userId);
 
         assertThat(actual).isSameAs(expected);
+        verify(events).publishEvent(any(ItemUpdatedEvent.class));
     }
 
     @Test
@@ -139,11 +158,11 @@ class ItemServiceTest {
         long itemId = 1L;
         long userId = 1L;
 
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(itemLookup.getItem(itemId)).thenThrow(new NotFoundException("There is no item with id=" + itemId));
 
         assertThatThrownBy(() -> service.getItemById(itemId, userId))
                 .isInstanceOf(NotFoundException.class)
-                .hasMessage("There is no item with id=" + userId);
+                .hasMessage("There is no item with id=" + itemId);
     }
 
     @Test
@@ -151,18 +170,21 @@ class ItemServiceTest {
         long itemId = 1L;
         long userId = 1L;
         Item returned = Item.builder()
+                .id(itemId)
                 .owner(User.builder()
                         .id(userId)
                         .build())
                 .build();
         ItemDto expected = new ItemDto();
+        when(itemLookup.getItem(itemId)).thenReturn(new ItemLookup.CachedItem(userId, new ItemDto()));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(returned));
-        when(mapper.toItemDtoForOwner(returned)).thenReturn(expected);
+        when(mapper.toItemDtoForOwner(returned, null, null, List.of())).thenReturn(expected);
 
         ItemDto actual = service.getItemById(itemId, userId);
 
         assertThat(actual).isSameAs(expected);
-        verify(mapper, times(1)).toItemDtoForOwner(returned);
+        verify(bookingRepository, times(1)).findLastBookings(eq(List.of(itemId)), any());
+        verify(bookingRepository, times(1)).findNextBookings(eq(List.of(itemId)), any());
         verify(mapper, never()).toItemDto(returned);
     }
 
@@ -171,13 +193,8 @@ class ItemServiceTest {
         long itemId = 1L;
         long userId = 1L;
         long ownerId = 2L;
-        Item returned = Item.builder()
-                .owner(User.builder()
-                        .id(ownerId)
-                        .build())
-                .build();
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(returned));
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(itemLookup.getItem(itemId)).thenReturn(new ItemLookup.CachedItem(ownerId, new ItemDto()));
+        when(userIdRegistry.exists(userId)).thenReturn(false);
 
         assertThatThrownBy(() -> service.getItemById(itemId, userId))
                 .isInstanceOf(NotFoundException.class)
@@ -189,30 +206,31 @@ class ItemServiceTest {
         long itemId = 1L;
         long userId = 1L;
         long ownerId = 2L;
-        Item returned = Item.builder()
-                .owner(User.builder()
-                        .id(ownerId)
-                        .build())
-                .build();
         ItemDto expected = new ItemDto();
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(returned));
-        when(userRepository.existsById(userId)).thenReturn(true);
-        when(mapper.toItemDto(returned)).thenReturn(expected);
+        when(itemLookup.getItem(itemId)).thenReturn(new ItemLookup.CachedItem(ownerId, expected));
+        when(userIdRegistry.exists(userId)).thenReturn(true);
 
         ItemDto actual = service.getItemById(itemId, userId);
 
         assertThat(actual).isSameAs(expected);
-        verify(mapper, times(1)).toItemDto(returned);
-        verify(mapper, never()).toItemDtoForOwner(returned);
+        verifyNoInteractions(itemRepository);
+        verify(mapper, never()).toItemDtoForOwner(any(), any(), any(), any());
     }
 
     @Test
     void getItemByUserId() {
         long userId = 1L;
-        List<Item> returned = List.of(new Item());
+        Item item = Item.builder()
+                .id(1L)
+                .build();
+        Booking last = Booking.builder()
+                .id(1L)
+                .item(item)
+                .build();
         ItemDto expected = new ItemDto();
-        when(itemRepository.findByOwnerId(userId)).thenReturn(returned);
-        when(mapper.toItemDtoForOwner(returned.getFirst())).thenReturn(expected);
+        when(itemRepository.findByOwnerId(userId)).thenReturn(List.of(item));
+        when(bookingRepository.findLastBookings(eq(List.of(1L)), any())).thenReturn(List.of(last));
+        when(mapper.toItemDtoForOwner(item, last, null, List.of())).thenReturn(expected);
 
         List<ItemDto> actual = service.getItemByUserId(userId);
 
@@ -224,14 +242,22 @@ class ItemServiceTest {
         String text = "text";
         Item returned = new Item();
         ItemDto expected = new ItemDto();
-        when(itemRepository.findByText(text)).thenReturn(List.of(returned));
+        when(searchEngine.search(text, 0, 10)).thenReturn(List.of(returned));
         when(mapper.toItemDto(returned)).thenReturn(expected);
 
-        List<ItemDto> actual = service.searchByText(text, 1L);
+        List<ItemDto> actual = service.searchByText(text, 1L, 0, 10);
 
         assertThat(actual.getFirst()).isSameAs(expected);
     }
 
+    @Test
+    void searchByText_whenTextIsBlank() {
+        List<ItemDto> actual = service.searchByText(" ", 1L, 0, 10);
+
+        assertThat(actual).isEmpty();
+        verifyNoInteractions(searchEngine);
+    }
+
     @Test
     void createComment_whenUserNotFound_shouldThrowException() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csv_shouldReadQuotedFieldsAndReportLines() {
+        String csv = """
+                Name,Description,Available,RequestId
+                drill,"cordless, 18V",true,
+                saw,"says ""sharp""
+                two lines",false,1
+
+                ladder,tall,maybe,
+                """;
+
+        List<CatalogRow> rows = readAll(CatalogFormat.CSV, csv);
+
+        assertThat(rows).containsExactly(
+                CatalogRow.parsed(2, item("drill", "cordless, 18V", true, null)),
+                CatalogRow.parsed(3, item("saw", "says \"sharp\"\ntwo lines", false, 1L)),
+                CatalogRow.rejected(6, "available must be true or false"));
+    }
+
+    @Test
+    void csv_shouldRejectHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> readAll(CatalogFormat.CSV, "name,available\ndrill,true\n"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("CSV header must contain name, description and available columns");
+    }
+
+    @Test
+    void jsonLines_shouldReportMalformedLinesAndGoOn() {
+        String jsonl = """
+                {"name":"drill","description":"cordless","available":true}
+                {"name":"saw",
+
+                {"name":"ladder","description":"tall","available":false,"requestId":2}
+                """;
+
+        List<CatalogRow> rows = readAll(CatalogFormat.JSON_LINES, jsonl);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo(CatalogRow.parsed(1, item("drill", "cordless", true, null)));
+        assertThat(rows.get(1).line()).isEqualTo(2);
+        assertThat(rows.get(1).error()).startsWith("Malformed JSON");
+        assertThat(rows.get(2)).isEqualTo(CatalogRow.parsed(4, item("ladder", "tall", false, 2L)));
+    }
+
+    @Test
+    void jsonLines_shouldRejectOverlongLineWithoutKeepingIt() {
+        String jsonl = "x".repeat(JsonLinesCatalogReader.MAX_LINE_LENGTH + 1) + "\n"
+                + "{\"name\":\"drill\",\"description\":\"cordless\",\"available\":true}\n";
+
+        List<CatalogRow> rows = readAll(CatalogFormat.JSON_LINES, jsonl);
+
+        assertThat(rows).containsExactly(
+                CatalogRow.rejected(1, "Line is longer than " + JsonLinesCatalogReader.MAX_LINE_LENGTH + " characters"),
+                CatalogRow.parsed(2, item("drill", "cordless", true, null)));
+    }
+
+    @Test
+    void csv_shouldRejectOverlongLine() {
+        String csv = "name,description,available\n" + "x".repeat(64 * 1024 + 1) + "\n";
+
+        assertThatThrownBy(() -> readAll(CatalogFormat.CSV, csv))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("CSV record at line 2 is too long");
+    }
+
+    @Test
+    void fromContentType_shouldRejectUnsupportedTypes() {
+        assertThat(CatalogFormat.fromContentType("text/csv;charset=UTF-8")).isEqualTo(CatalogFormat.CSV);
+        assertThat(CatalogFormat.fromContentType("application/x-ndjson")).isEqualTo(CatalogFormat.JSON_LINES);
+        assertThatThrownBy(() -> CatalogFormat.fromContentType("application/json"))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @SneakyThrows
+    private List<CatalogRow> readAll(CatalogFormat format, String source) {
+        List<CatalogRow> rows = new ArrayList<>();
+        try (CatalogReader reader = format.open(new StringReader(source), objectMapper)) {
+            CatalogRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static ItemCreateDto item(String name, String description, Boolean available, Long requestId) {
+        return ItemCreateDto.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .requestId(requestId)
+                .build();
+    }
+}
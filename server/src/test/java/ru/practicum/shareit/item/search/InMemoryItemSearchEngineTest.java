@@ -0,0 +1,147 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.outbox.OutboxEvent;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private InMemoryItemSearchEngine engine;
+
+    @Test
+    void match_whenPrefixOfEveryWordMatches() {
+        engine.index(item(1L, "Cordless drill", "with battery", true));
+        engine.index(item(2L, "Hammer drill", "corded", true));
+        engine.index(item(3L, "Saw", "battery powered", true));
+
+        assertThat(engine.match(SearchTokens.words("DRI"))).containsExactly(1L, 2L);
+        assertThat(engine.match(SearchTokens.words("drill cord"))).containsExactly(1L, 2L);
+        assertThat(engine.match(SearchTokens.words("batt drill"))).containsExactly(1L);
+        assertThat(engine.match(SearchTokens.words("ladder"))).isEmpty();
+    }
+
+    @Test
+    void index_whenAvailableFlipsOrTextChanges() {
+        engine.index(item(1L, "Drill", "desc", true));
+
+        engine.index(item(1L, "Drill", "desc", false));
+        assertThat(engine.match(SearchTokens.words("drill"))).isEmpty();
+
+        engine.index(item(1L, "Ladder", "desc", true));
+        assertThat(engine.match(SearchTokens.words("drill"))).isEmpty();
+        assertThat(engine.match(SearchTokens.words("ladder"))).containsExactly(1L);
+    }
+
+    @Test
+    void search_loadsOnlyRequestedPage() {
+        Item first = item(1L, "Drill", "desc", true);
+        Item second = item(2L, "Drill", "desc", true);
+        Item third = item(3L, "Drill", "desc", true);
+        engine.index(first);
+        engine.index(second);
+        engine.index(third);
+        when(itemRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(third, second));
+
+        List<Item> found = engine.search("drill", 1, 5);
+
+        assertThat(found).containsExactly(second, third);
+    }
+
+    @Test
+    void search_whenOffsetBeyondMatches() {
+        engine.index(item(1L, "Drill", "desc", true));
+
+        assertThat(engine.search("drill", 1, 5)).isEmpty();
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void rebuild_indexesAvailableItemsInBatches() {
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(item(5L, "Tent", "camping", true)));
+
+        engine.rebuild();
+
+        verify(itemRepository).findByAvailableTrueAndIdGreaterThanOrderById(eq(0L), any(Limit.class));
+        assertThat(engine.match(SearchTokens.words("camp"))).containsExactly(5L);
+    }
+
+    @Test
+    void search_whenIndexedItemIsGone_dropsItAndFillsThePage() {
+        Item first = item(1L, "Drill", "desc", true);
+        Item third = item(3L, "Drill", "desc", true);
+        engine.index(first);
+        engine.index(item(2L, "Drill", "desc", true));
+        engine.index(third);
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first));
+        when(itemRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(first, third));
+
+        List<Item> found = engine.search("drill", 0, 2);
+
+        assertThat(found).containsExactly(first, third);
+        assertThat(engine.match(SearchTokens.words("drill"))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void rebuild_replaysUpdatesAppliedWhileBuilding() {
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(anyLong(), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    engine.index(item(5L, "Tent", "camping", false));
+                    return List.of(item(5L, "Tent", "camping", true));
+                });
+
+        engine.rebuild();
+
+        assertThat(engine.match(SearchTokens.words("camp"))).isEmpty();
+    }
+
+    @Test
+    void onEvents_reloadsChangedItemsAndDropsDeletedOnes() {
+        engine.index(item(1L, "Drill", "desc", true));
+        engine.index(item(2L, "Drill", "desc", true));
+        when(itemRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(item(1L, "Ladder", "desc", true)));
+
+        engine.onEvents(List.of(event("item", 1L), event("booking", 7L), event("item", 2L)));
+
+        assertThat(engine.match(SearchTokens.words("drill"))).isEmpty();
+        assertThat(engine.match(SearchTokens.words("ladder"))).containsExactly(1L);
+    }
+
+    private static OutboxEvent event(String aggregateType, long aggregateId) {
+        return OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .build();
+    }
+
+    private static Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.DBIntegrationTestBase;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the SQL full-text path with the in-memory inverted index. Not picked up by the default
+ * surefire includes, run it explicitly: {@code mvn test -pl server -Dtest=ItemSearchBenchmark}.
+ */
+@Slf4j
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemSearchBenchmark extends DBIntegrationTestBase {
+
+    private static final int ITEMS = 20_000;
+    private static final int WARMUP = 50;
+    private static final int ROUNDS = 300;
+    private static final String[] WORDS = {"drill", "hammer", "saw", "ladder", "tent", "bike", "kayak", "camera",
+            "tripod", "projector", "speaker", "guitar", "scooter", "mower", "grill", "cordless", "electric", "large",
+            "small", "red", "blue", "vintage", "portable", "heavy"};
+
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Test
+    void compareSqlAndInMemorySearch() {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            rows.add(new Object[]{randomText(random, 3), randomText(random, 8), random.nextInt(10) != 0, 1L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO item (name, description, available, owner_id) VALUES (?, ?, ?, ?)",
+                rows);
+        jdbcTemplate.execute("ANALYZE item");
+
+        SqlItemSearchEngine sql = new SqlItemSearchEngine(itemRepository);
+        InMemoryItemSearchEngine memory = new InMemoryItemSearchEngine(itemRepository);
+        long buildStart = System.nanoTime();
+        memory.rebuild();
+        entityManager.clear();
+        log.info("In-memory index built in {} ms", (System.nanoTime() - buildStart) / 1_000_000);
+
+        assertThat(memory.search("drill", 0, 10)).isNotEmpty();
+        double sqlMicros = measure(text -> {
+            sql.search(text, 0, 10);
+            entityManager.clear();
+        });
+        double memoryMicros = measure(text -> {
+            memory.search(text, 0, 10);
+            entityManager.clear();
+        });
+        log.info("Search over {} items, avg per query: sql={} us, in-memory={} us", ITEMS,
+                String.format("%.1f", sqlMicros), String.format("%.1f", memoryMicros));
+    }
+
+    private static double measure(Consumer<String> search) {
+        Random random = new Random(7);
+        for (int i = 0; i < WARMUP; i++) {
+            search.accept(WORDS[random.nextInt(WORDS.length)]);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            search.accept(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    .substring(0, 3));
+        }
+        return (System.nanoTime() - start) / 1_000.0 / ROUNDS;
+    }
+
+    private static String randomText(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
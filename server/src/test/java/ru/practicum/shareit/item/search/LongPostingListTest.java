@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongPostingListTest {
+
+    @Test
+    void add_keepsIdsSortedAndDistinct() {
+        LongPostingList list = new LongPostingList();
+
+        list.add(7L);
+        list.add(3L);
+        list.add(11L);
+        list.add(1L);
+        list.add(5L);
+        boolean addedTwice = list.add(3L);
+
+        assertThat(addedTwice).isFalse();
+        assertThat(list.toArray()).containsExactly(1L, 3L, 5L, 7L, 11L);
+    }
+
+    @Test
+    void remove_whenPresentAndAbsent() {
+        LongPostingList list = new LongPostingList();
+        list.add(1L);
+        list.add(2L);
+
+        assertThat(list.remove(1L)).isTrue();
+        assertThat(list.remove(3L)).isFalse();
+        assertThat(list.toArray()).containsExactly(2L);
+        assertThat(list.remove(2L)).isTrue();
+        assertThat(list.isEmpty()).isTrue();
+    }
+
+    @Test
+    void unionAndIntersect() {
+        LongPostingList first = new LongPostingList();
+        first.add(1L);
+        first.add(4L);
+        LongPostingList second = new LongPostingList();
+        second.add(4L);
+        second.add(9L);
+
+        long[] union = LongPostingList.union(List.of(first, second));
+
+        assertThat(union).containsExactly(1L, 4L, 9L);
+        assertThat(LongPostingList.intersect(union, second.toArray())).containsExactly(4L, 9L);
+        assertThat(LongPostingList.intersect(first.toArray(), new long[]{9L})).isEmpty();
+        assertThat(LongPostingList.union(List.of())).isEmpty();
+    }
+}
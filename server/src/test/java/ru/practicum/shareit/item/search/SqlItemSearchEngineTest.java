@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.ItemRepository;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SqlItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private SqlItemSearchEngine engine;
+
+    @Test
+    void search_whenSingleWord() {
+        engine.search("Text", 0, 10);
+
+        verify(itemRepository).searchAvailable("text:*", "%Text%", 0, 10);
+    }
+
+    @Test
+    void search_whenTextHasSeveralWordsAndWildcards() {
+        engine.search("Drill, 50%_off", 5, 10);
+
+        verify(itemRepository).searchAvailable("drill:* & 50:* & off:*", "%Drill, 50\\%\\_off%", 5, 10);
+    }
+}
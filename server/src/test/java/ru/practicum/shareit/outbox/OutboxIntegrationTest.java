@@ -0,0 +1,55 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.DBIntegrationTestBase;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OutboxIntegrationTest extends DBIntegrationTestBase {
+
+    private final BookingService bookingService;
+    private final OutboxRepository outboxRepository;
+    private final OutboxRelay relay;
+    private final RecordingOutboxListener listener;
+    private final EntityManager entityManager;
+
+    @Test
+    void approveBooking_writesEventsInTheSameTransactionAndRelayDrainsThem() {
+        listener.clear();
+        LocalDateTime start = LocalDateTime.of(2040, 1, 1, 12, 0);
+        BookingDto created = bookingService.createBooking(new BookingCreateDto(1L, start, start.plusDays(1)), 2L);
+        bookingService.approveBooking(1L, created.getId(), true);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OutboxEvent> events = outboxRepository.findAll(Sort.by("id"));
+
+        assertThat(events).extracting(OutboxEvent::getEventType)
+                .containsExactly("BookingCreatedEvent", "BookingStatusChangedEvent");
+        assertThat(events).extracting(OutboxEvent::getAggregateType).containsOnly("booking");
+        assertThat(events).extracting(OutboxEvent::getAggregateId).containsOnly(created.getId());
+        assertThat(events.get(0).getPayload().path("ownerId").asLong()).isEqualTo(1L);
+        assertThat(events.get(1).getPayload().path("bookerId").asLong()).isEqualTo(2L);
+        assertThat(events.get(1).getPayload().path("booking").path("status").asText()).isEqualTo("APPROVED");
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+        assertThat(listener.received()).extracting(OutboxEvent::getId)
+                .containsExactlyElementsOf(events.stream().map(OutboxEvent::getId).toList());
+        assertThat(outboxRepository.count()).isZero();
+    }
+}
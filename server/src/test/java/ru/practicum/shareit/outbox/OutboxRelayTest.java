@@ -0,0 +1,89 @@
+package ru.practicum.shareit.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    OutboxRepository outboxRepository;
+
+    @Mock
+    ObjectProvider<OutboxListener> listeners;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    OutboxListener listener;
+
+    OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, listeners, transactionManager, 2, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void relayBatch_deliversLockedEventsAndDeletesThem() {
+        List<OutboxEvent> batch = List.of(OutboxEvent.builder().id(1L).build(), OutboxEvent.builder().id(2L).build());
+        when(outboxRepository.lockNextBatch(2)).thenReturn(batch);
+        when(listeners.orderedStream()).thenReturn(Stream.of(listener));
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+
+        verify(listener).onEvents(batch);
+        verify(outboxRepository).deleteAllInBatch(batch);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void relayBatch_whenOutboxIsEmpty_shouldNotCallListeners() {
+        when(listeners.orderedStream()).thenReturn(Stream.of(listener));
+        when(outboxRepository.lockNextBatch(2)).thenReturn(List.of());
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verifyNoInteractions(listener);
+        verify(outboxRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void relayBatch_whenNoListenerIsRegistered_shouldKeepEvents() {
+        when(listeners.orderedStream()).thenReturn(Stream.empty());
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verifyNoInteractions(outboxRepository, transactionManager);
+    }
+
+    @Test
+    void relayBatch_whenListenerFails_shouldKeepEventsForNextPoll() {
+        List<OutboxEvent> batch = List.of(OutboxEvent.builder().id(1L).build());
+        when(outboxRepository.lockNextBatch(2)).thenReturn(batch);
+        when(listeners.orderedStream()).thenReturn(Stream.of(listener));
+        doThrow(new IllegalStateException("index is down")).when(listener).onEvents(batch);
+
+        assertThatThrownBy(() -> relay.relayBatch())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("index is down");
+
+        verify(outboxRepository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+    }
+}
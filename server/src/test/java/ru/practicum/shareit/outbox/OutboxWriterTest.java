@@ -0,0 +1,59 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.event.CommentCreatedEvent;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxWriterTest {
+
+    @Mock
+    OutboxRepository outboxRepository;
+
+    @Mock
+    ObjectProvider<OutboxListener> listeners;
+
+    @Mock
+    OutboxListener listener;
+
+    OutboxWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new OutboxWriter(outboxRepository, JsonMapper.builder().findAndAddModules().build(), listeners);
+    }
+
+    @Test
+    void append_storesEventWithItsAggregate() {
+        when(listeners.orderedStream()).thenReturn(Stream.of(listener));
+
+        writer.append(new CommentCreatedEvent(4L, new CommentDto()));
+
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(saved.capture());
+        assertThat(saved.getValue().getAggregateType()).isEqualTo("item");
+        assertThat(saved.getValue().getAggregateId()).isEqualTo(4L);
+        assertThat(saved.getValue().getEventType()).isEqualTo("CommentCreatedEvent");
+    }
+
+    @Test
+    void append_whenNoListenerIsRegistered_shouldStoreNothing() {
+        when(listeners.orderedStream()).thenReturn(Stream.empty());
+
+        writer.append(new CommentCreatedEvent(4L, new CommentDto()));
+
+        verifyNoInteractions(outboxRepository);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the relay running in tests, where no production listener is deployed, and records what it delivers.
+ */
+@Component
+class RecordingOutboxListener implements OutboxListener {
+
+    private final List<OutboxEvent> received = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        received.addAll(events);
+    }
+
+    List<OutboxEvent> received() {
+        return List.copyOf(received);
+    }
+
+    void clear() {
+        received.clear();
+    }
+}
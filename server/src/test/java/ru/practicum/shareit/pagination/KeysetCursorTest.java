@@ -0,0 +1,27 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_whenEncoded_returnSameCursor() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2035, 5, 26, 19, 0, 0, 123_000_000), 42L);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_whenMalformed_throwValidationException() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor"))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncTokenTest {
+
+    @Test
+    void upTo_whenLastChangeIsRecent_shouldStopOverlapBeforeNow() {
+        LocalDateTime now = LocalDateTime.of(2035, 5, 26, 19, 0, 0, 123_000_000);
+
+        SyncToken token = SyncToken.upTo(now.minusSeconds(1), now);
+
+        assertThat(token.since()).isEqualTo(now.minus(SyncToken.OVERLAP));
+        assertThat(SyncToken.decode(token.encode())).isEqualTo(token);
+    }
+
+    @Test
+    void upTo_whenOverlapHasPassed_shouldCatchUpWithLastChange() {
+        LocalDateTime now = LocalDateTime.of(2035, 5, 26, 19, 0);
+        LocalDateTime lastChange = now.minusMinutes(5);
+
+        assertThat(SyncToken.upTo(lastChange, now).since()).isEqualTo(lastChange);
+    }
+
+    @Test
+    void decode_whenMalformed_throwValidationException() {
+        assertThatThrownBy(() -> SyncToken.decode("not a token"))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -9,8 +9,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.SyncPage;
+import ru.practicum.shareit.pagination.SyncToken;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -63,7 +67,8 @@ class ItemRequestControllerTest {
                 .build();
 
         List<ItemRequestDto> expectedList = List.of(expected);
-        when(service.getOwnersRequests(userId)).thenReturn(expectedList);
+        when(service.getOwnersRequests(userId, null))
+                .thenReturn(new SyncPage<>(expectedList, new SyncToken(LocalDateTime.of(2030, 1, 1, 0, 0))));
 
         String contentAsString = mvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", Long.toString(userId)))
@@ -107,7 +112,7 @@ class ItemRequestControllerTest {
                 .build();
 
         List<ItemRequestDto> expectedList = List.of(expected);
-        when(service.getAllRequests(userId)).thenReturn(expectedList);
+        when(service.getAllRequests(userId, 0, 10, null)).thenReturn(new CursorPage<>(expectedList, null));
 
         String contentAsString = mvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", Long.toString(userId)))
@@ -8,13 +8,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.DBIntegrationTestBase;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.SyncPage;
+import ru.practicum.shareit.pagination.SyncToken;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.entity.ItemRequest;
+import ru.practicum.shareit.user.entity.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @Transactional
 @SpringBootTest
@@ -45,7 +52,7 @@ class ItemRequestServiceIntegrationTest extends DBIntegrationTestBase {
 
     @Test
     void getOwnersRequests() {
-        List<ItemRequestDto> ownersRequestsUser1 = service.getOwnersRequests(1L);
+        List<ItemRequestDto> ownersRequestsUser1 = service.getOwnersRequests(1L, null).content();
         assertThat(ownersRequestsUser1).hasSize(2);
         for (ItemRequestDto dto : ownersRequestsUser1) {
             if (dto.getId().equals(1L)) {
@@ -53,14 +60,14 @@ class ItemRequestServiceIntegrationTest extends DBIntegrationTestBase {
             }
         }
 
-        List<ItemRequestDto> ownersRequestsUser2 = service.getOwnersRequests(2L);
+        List<ItemRequestDto> ownersRequestsUser2 = service.getOwnersRequests(2L, null).content();
         assertThat(ownersRequestsUser2).hasSize(1).first()
                 .hasFieldOrPropertyWithValue("description", "desc3")
                 .hasFieldOrPropertyWithValue("id", 3L);
         assertThat(ownersRequestsUser2.getFirst().getItems()).hasSize(1).first()
                 .hasFieldOrPropertyWithValue("id", 2L);
 
-        List<ItemRequestDto> ownersRequests3 = service.getOwnersRequests(3L);
+        List<ItemRequestDto> ownersRequests3 = service.getOwnersRequests(3L, null).content();
         assertThat(ownersRequests3).isEmpty();
     }
 
@@ -74,28 +81,72 @@ class ItemRequestServiceIntegrationTest extends DBIntegrationTestBase {
                 .hasFieldOrPropertyWithValue("id", 1L)
                 .hasFieldOrPropertyWithValue("description", "desc1")
                 .hasFieldOrPropertyWithValue("created", LocalDateTime.parse("2025-05-25T19:00"));
+        assertThat(requestById.getItems())
+                .extracting(ItemCreateDto::getId, ItemCreateDto::getRequestId)
+                .containsExactly(tuple(3L, 1L), tuple(6L, 1L));
     }
 
     @Test
     void getAllRequests() {
         long userId = 1L;
-        List<ItemRequestDto> allRequestsUser1 = service.getAllRequests(userId);
+        List<ItemRequestDto> allRequestsUser1 = service.getAllRequests(userId, 0, 10, null).content();
 
         assertThat(allRequestsUser1).hasSize(1);
         assertThat(allRequestsUser1).last().hasFieldOrPropertyWithValue("items", null);
 
         userId = 2L;
-        List<ItemRequestDto> allRequestsUser2 = service.getAllRequests(userId);
+        List<ItemRequestDto> allRequestsUser2 = service.getAllRequests(userId, 0, 10, null).content();
 
         assertThat(allRequestsUser2).hasSize(2);
         assertThat(allRequestsUser2).last().hasFieldOrPropertyWithValue("items", null);
         assertThat(allRequestsUser2).first().hasFieldOrPropertyWithValue("items", null);
 
         userId = 3L;
-        List<ItemRequestDto> allRequestsUser3 = service.getAllRequests(userId);
+        List<ItemRequestDto> allRequestsUser3 = service.getAllRequests(userId, 0, 10, null).content();
 
         assertThat(allRequestsUser3).hasSize(3);
         assertThat(allRequestsUser3).last().hasFieldOrPropertyWithValue("items", null);
         assertThat(allRequestsUser3).first().hasFieldOrPropertyWithValue("items", null);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllRequests_pagesNewestFirstWithCursor() {
+        long userId = 3L;
+
+        CursorPage<ItemRequestDto> firstPage = service.getAllRequests(userId, 0, 2, null);
+
+        assertThat(firstPage.content()).extracting(ItemRequestDto::getId).containsExactly(3L, 2L);
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        CursorPage<ItemRequestDto> secondPage = service.getAllRequests(userId, 0, 2, firstPage.nextCursor());
+
+        assertThat(secondPage.content()).extracting(ItemRequestDto::getId).containsExactly(1L);
+        assertThat(secondPage.nextCursor()).isNull();
+        assertThat(service.getAllRequests(userId, 2, 2, null).content())
+                .extracting(ItemRequestDto::getId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void getOwnersRequests_sinceToken_returnsOnlyChangedRequestsAndAnswers() {
+        SyncToken since = new SyncToken(LocalDateTime.now());
+        Item answer = Item.builder()
+                .name("new answer")
+                .description("desc")
+                .available(true)
+                .owner(entityManager.getReference(User.class, 3L))
+                .itemRequest(entityManager.getReference(ItemRequest.class, 2L))
+                .build();
+        entityManager.persist(answer);
+        entityManager.flush();
+
+        SyncPage<ItemRequestDto> changes = service.getOwnersRequests(1L, since.encode());
+
+        assertThat(changes.content()).hasSize(1).first()
+                .hasFieldOrPropertyWithValue("id", 2L);
+        assertThat(changes.content().getFirst().getItems())
+                .extracting(ItemCreateDto::getId)
+                .containsExactly(answer.getId());
+        assertThat(service.getOwnersRequests(2L, since.encode()).content()).isEmpty();
+    }
+}
@@ -6,10 +6,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.SyncToken;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.entity.ItemRequest;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserIdRegistry;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,16 +30,19 @@ class ItemRequestServiceTest {
     ItemRequestRepository itemRequestRepository;
 
     @Mock
-    UserRepository userRepository;
+    UserIdRegistry userIdRegistry;
 
     @Mock
     ItemRequestMapper mapper;
 
+    @Mock
+    ItemRepository itemRepository;
+
     @Test
     void createRequest_whenUserIsNotFound() {
         long userId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userIdRegistry.exists(userId)).thenReturn(false);
 
         assertThatThrownBy(() -> service.createRequest(new ItemRequestDto(), userId))
                 .isInstanceOf(NotFoundException.class);
@@ -48,7 +54,7 @@ class ItemRequestServiceTest {
         ItemRequestDto income = new ItemRequestDto();
         ItemRequest saved = new ItemRequest();
         ItemRequestDto expected = new ItemRequestDto();
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userIdRegistry.exists(userId)).thenReturn(true);
         when(mapper.toItemRequest(income, userId)).thenReturn(saved);
         when(itemRequestRepository.save(saved)).thenReturn(saved);
         when(mapper.toDto(saved)).thenReturn(expected);
@@ -63,9 +69,9 @@ class ItemRequestServiceTest {
     void getOwnersRequests_whenUserIsNotFound() {
         long userId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userIdRegistry.exists(userId)).thenReturn(false);
 
-        assertThatThrownBy(() -> service.getOwnersRequests(userId))
+        assertThatThrownBy(() -> service.getOwnersRequests(userId, null))
                 .isInstanceOf(NotFoundException.class);
     }
 
@@ -75,21 +81,64 @@ class ItemRequestServiceTest {
         ItemRequest returned = new ItemRequest();
         ItemRequestDto expected = new ItemRequestDto();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userIdRegistry.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findAllByAuthorId(userId)).thenReturn(List.of(returned));
-        when(mapper.toDtoWithItems(returned)).thenReturn(expected);
+        when(mapper.toDtoWithItems(returned, List.of())).thenReturn(expected);
 
 
-        List<ItemRequestDto> actual = service.getOwnersRequests(userId);
+        List<ItemRequestDto> actual = service.getOwnersRequests(userId, null).content();
 
         assertThat(actual).hasSize(1).first().isSameAs(expected);
     }
 
+    @Test
+    void getOwnersRequests_shouldTakeTokenFromLastStoredChange() {
+        long userId = 1L;
+        LocalDateTime lastCreated = LocalDateTime.of(2035, 5, 26, 19, 0);
+        LocalDateTime lastAnswered = lastCreated.plusMinutes(5);
+
+        when(userIdRegistry.exists(userId)).thenReturn(true);
+        when(itemRequestRepository.findLastCreatedByAuthorId(userId)).thenReturn(lastCreated);
+        when(itemRepository.findLastAnswerUpdateByRequestAuthorId(userId)).thenReturn(lastAnswered);
+        when(itemRequestRepository.findDatabaseNow()).thenReturn(lastAnswered.plusHours(1));
+
+        SyncToken next = service.getOwnersRequests(userId, null).next();
+
+        assertThat(next).isEqualTo(new SyncToken(lastAnswered));
+    }
+
+    @Test
+    void getOwnersRequests_shouldNotMoveTokenBack() {
+        long userId = 1L;
+        LocalDateTime lastChange = LocalDateTime.of(2035, 5, 26, 19, 0);
+        SyncToken previous = new SyncToken(lastChange.plusMinutes(1));
+
+        when(userIdRegistry.exists(userId)).thenReturn(true);
+        when(itemRequestRepository.findLastCreatedByAuthorId(userId)).thenReturn(lastChange);
+        when(itemRequestRepository.findDatabaseNow()).thenReturn(lastChange.plusHours(1));
+
+        SyncToken next = service.getOwnersRequests(userId, previous.encode()).next();
+
+        assertThat(next).isEqualTo(previous);
+    }
+
+    @Test
+    void getOwnersRequests_whenNothingIsStored_shouldKeepPreviousToken() {
+        long userId = 1L;
+        SyncToken previous = new SyncToken(LocalDateTime.of(2035, 5, 26, 19, 0));
+
+        when(userIdRegistry.exists(userId)).thenReturn(true);
+
+        SyncToken next = service.getOwnersRequests(userId, previous.encode()).next();
+
+        assertThat(next).isEqualTo(previous);
+    }
+
     @Test
     void getRequestById_whenUserIsNotFound() {
         long userId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userIdRegistry.exists(userId)).thenReturn(false);
 
         assertThatThrownBy(() -> service.getRequestById(1L, userId))
                 .isInstanceOf(NotFoundException.class);
@@ -100,7 +149,7 @@ class ItemRequestServiceTest {
         long userId = 1L;
         long requestId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userIdRegistry.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(userId)).thenReturn(Optional.empty());
 
 
@@ -115,9 +164,9 @@ class ItemRequestServiceTest {
         ItemRequest returned = new ItemRequest();
         ItemRequestDto expected = new ItemRequestDto();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userIdRegistry.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(userId)).thenReturn(Optional.of(returned));
-        when(mapper.toDtoWithItems(returned)).thenReturn(expected);
+        when(mapper.toDtoWithItems(returned, List.of())).thenReturn(expected);
 
 
         ItemRequestDto actual = service.getRequestById(requestId, userId);
@@ -129,9 +178,9 @@ class ItemRequestServiceTest {
     void getAllRequests_whenUserIsOntFound() {
         long userId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userIdRegistry.exists(userId)).thenReturn(false);
 
-        assertThatThrownBy(() -> service.getAllRequests(userId))
+        assertThatThrownBy(() -> service.getAllRequests(userId, 0, 10, null))
                 .isInstanceOf(NotFoundException.class);
     }
 
@@ -141,12 +190,12 @@ class ItemRequestServiceTest {
         ItemRequest returned = new ItemRequest();
         ItemRequestDto expected = new ItemRequestDto();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
-        when(itemRequestRepository.findAllByAuthorIdNotOrderByCreated(userId)).thenReturn(List.of(returned));
+        when(userIdRegistry.exists(userId)).thenReturn(true);
+        when(itemRequestRepository.findOthersNewestFirst(userId, 0, 11)).thenReturn(List.of(returned));
         when(mapper.toDto(returned)).thenReturn(expected);
 
 
-        List<ItemRequestDto> actual = service.getAllRequests(userId);
+        List<ItemRequestDto> actual = service.getAllRequests(userId, 0, 10, null).content();
 
         assertThat(actual).hasSize(1).first().isSameAs(expected);
     }
@@ -7,8 +7,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.EtagConfig;
 import ru.practicum.shareit.exception.EmailConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -23,6 +26,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
+@Import(EtagConfig.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class UserControllerTest {
 
@@ -71,6 +75,28 @@ class UserControllerTest {
         assertThat(contentAsString).isEqualTo(objectMapper.writeValueAsString(expected));
     }
 
+    @Test
+    @SneakyThrows
+    void getByUserId_whenEtagMatches_shouldReturnNotModified() {
+        long userId = 1L;
+        when(service.getUserById(userId)).thenReturn(UserDto.builder()
+                .name("name")
+                .email("email")
+                .id(1L)
+                .build());
+
+        String etag = mvc.perform(get("/users/{userId}", userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        assertThat(etag).isNotBlank();
+        mvc.perform(get("/users/{userId}", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @SneakyThrows
     void createUser() {
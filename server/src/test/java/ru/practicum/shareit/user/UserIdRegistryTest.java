@@ -0,0 +1,68 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdRegistryTest {
+
+    @InjectMocks
+    UserIdRegistry registry;
+
+    @Mock
+    UserRepository repository;
+
+    @Test
+    void exists_whenNotLoaded_shouldAskRepository() {
+        when(repository.existsById(3L)).thenReturn(true);
+
+        assertThat(registry.exists(3L)).isTrue();
+    }
+
+    @Test
+    void exists_whenLoaded_shouldNotAskRepository() {
+        when(repository.findIdsGreaterThan(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 3L));
+        registry.load();
+
+        assertThat(registry.exists(1L)).isTrue();
+        assertThat(registry.exists(2L)).isFalse();
+        assertThat(registry.exists(3L)).isTrue();
+        assertThat(registry.exists(0L)).isFalse();
+        verify(repository).findIdsGreaterThan(eq(0L), any(Limit.class));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void registerAndUnregister() {
+        when(repository.findIdsGreaterThan(eq(0L), any(Limit.class))).thenReturn(List.of());
+        registry.load();
+
+        registry.register(7L);
+        assertThat(registry.exists(7L)).isTrue();
+
+        registry.unregister(7L);
+        assertThat(registry.exists(7L)).isFalse();
+    }
+
+    @Test
+    void exists_whenIdIsOutsideTrackedRange_shouldAskRepository() {
+        when(repository.findIdsGreaterThan(eq(0L), any(Limit.class))).thenReturn(List.of());
+        registry.load();
+        when(repository.existsById(Long.MAX_VALUE)).thenReturn(true);
+
+        assertThat(registry.exists(Long.MAX_VALUE)).isTrue();
+    }
+}
@@ -1,13 +1,16 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.DBIntegrationTestBase;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.EmailConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -25,6 +28,8 @@ class UserServiceIntegratedTest extends DBIntegrationTestBase {
 
     private final UserService service;
     private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
 
     @Test
     void getAllUsers() {
@@ -41,6 +46,16 @@ class UserServiceIntegratedTest extends DBIntegrationTestBase {
                 .hasFieldOrPropertyWithValue("email", "email1");
     }
 
+    @Test
+    void getUserById_whenReadInsideTransaction_shouldCacheOnlyAfterCommit() {
+        double missesBefore = cacheMisses();
+
+        service.getUserById(1L);
+
+        assertThat(cacheMisses()).isEqualTo(missesBefore + 1);
+        assertThat(cacheManager.getCache(CacheConfig.USERS).get(1L)).isNull();
+    }
+
     @Test
     void getUserById_whenNotFound() {
         assertThatThrownBy(() -> service.getUserById(5L))
@@ -127,4 +142,12 @@ class UserServiceIntegratedTest extends DBIntegrationTestBase {
 
         assertThat(count).isEqualTo(0L);
     }
-}
\ No newline at end of file
+
+    private double cacheMisses() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.USERS)
+                .tag("result", "miss")
+                .functionCounter()
+                .count();
+    }
+}
@@ -15,6 +15,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +30,9 @@ class UserServiceTest {
     @Mock
     UserMapper mapper;
 
+    @Mock
+    UserIdRegistry userIdRegistry;
+
     @Test
     void getAllUsers() {
         User expected = new User();
@@ -69,7 +73,9 @@ class UserServiceTest {
     @Test
     void saveUser() {
         User toSave = new User();
-        User expected = new User();
+        User expected = User.builder()
+                .id(5L)
+                .build();
         UserDto incomeDto = new UserDto();
         UserDto expectedDto = new UserDto();
 
@@ -80,6 +86,7 @@ class UserServiceTest {
         UserDto saved = service.saveUser(incomeDto);
 
         assertThat(saved).isSameAs(expectedDto);
+        verify(userIdRegistry).register(5L);
     }
 
     @Test